@@ -0,0 +1,65 @@
+package com.vbforge;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+//account construction throughput: regex check (former validation), char-level check in public constructor
+//and trusted restore() used for hydration of already validated data
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AccountConstructionBenchmark {
+
+    private static final int BATCH = 1024;
+
+    private final String[] numbers = new String[BATCH];
+    private final int[] keys = new int[BATCH];
+
+    @Setup
+    public void setUp() {
+        for(int i = 0; i < BATCH; i++) {
+            keys[i] = i * 977;
+            numbers[i] = AccountNumbers.fromKey(keys[i]);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void regexValidation(Blackhole blackhole) {
+        for(String number : numbers) {
+            blackhole.consume(number.matches("^ACC-\\d{6}$"));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void publicConstructor(Blackhole blackhole) {
+        for(String number : numbers) {
+            blackhole.consume(new BankAccount(number, "Owner", 100.0));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void trustedRestore(Blackhole blackhole) {
+        for(int key : keys) {
+            blackhole.consume(BankAccount.restore(key, "Owner", 10_000, true));
+        }
+    }
+
+}
@@ -0,0 +1,49 @@
+package com.vbforge;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+//balance formatting: String.format("%.2f") (former implementation) vs. fixed-point formatting of cents
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BalanceFormatBenchmark {
+
+    private BankAccount account;
+    private final StringBuilder reused = new StringBuilder(32);
+
+    @Setup
+    public void setUp() {
+        account = new BankAccount("ACC-123456", "John Doe", 1234567.89);
+    }
+
+    @Benchmark
+    public String stringFormat() {
+        return String.format("%.2f", account.getBalance());
+    }
+
+    @Benchmark
+    public String formattedBalance() {
+        return account.getFormattedBalance();
+    }
+
+    @Benchmark
+    public StringBuilder appendFormattedBalance() {
+        reused.setLength(0);
+        return account.appendFormattedBalance(reused);
+    }
+
+}
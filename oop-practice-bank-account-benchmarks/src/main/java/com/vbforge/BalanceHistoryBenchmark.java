@@ -0,0 +1,95 @@
+package com.vbforge;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+//as-of balance queries: one account with 10k deltas, and all 100k accounts (100 deltas each) in parallel
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BalanceHistoryBenchmark {
+
+    private static final int ACCOUNTS = 100_000;
+    private static final int DELTAS_PER_ACCOUNT = 100;
+    private static final int HOT_DELTAS = 10_000;
+    private static final long START = 1_700_000_000_000L;
+
+    private Bank bank;
+    private final StepClock clock = new StepClock();
+    private Instant middle;
+
+    @Setup
+    public void setUp() {
+        bank = new Bank(ACCOUNTS);
+        for(int i = 0; i < ACCOUNTS; i++) {
+            bank.addAccount(new BankAccount(AccountNumbers.fromKey(i), "Owner", 1_000.0));
+        }
+        bank.enableHistory(clock);
+        for(int round = 0; round < DELTAS_PER_ACCOUNT; round++) {
+            for(int i = 0; i < ACCOUNTS; i++) {
+                bank.findAccount(AccountNumbers.fromKey(i)).deposit(1.0);
+            }
+        }
+        BankAccount hot = bank.findAccount(AccountNumbers.fromKey(0));
+        for(int i = 0; i < HOT_DELTAS; i++) {
+            hot.deposit(1.0);
+        }
+        middle = Instant.ofEpochMilli(clock.millis - HOT_DELTAS / 2);     //halfway through hot account deltas
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public long singleAccountAsOf() {
+        return bank.getBalanceCentsAsOf(AccountNumbers.fromKey(0), middle);
+    }
+
+    @Benchmark
+    public Map<String, Double> allAccountsAsOf() {
+        return bank.getBalancesAsOf(middle);
+    }
+
+    //every reading is one millisecond later, so each delta gets its own timestamp
+    private static final class StepClock extends Clock {
+
+        private long millis = START;
+
+        @Override
+        public long millis() {
+            return millis++;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis());
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+
+}
@@ -0,0 +1,49 @@
+package com.vbforge;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+//bulk load of N accounts into empty bank (addAccount with duplicate check per insert)
+//account numbers are ACC-000000..ACC-999999, so 1M is the largest possible bank
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class BankLoadBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    private int accounts;
+
+    private BankAccount[] prepared;     //accounts are created once, only loading is measured
+
+    @Setup
+    public void prepareAccounts() {
+        prepared = new BankAccount[accounts];
+        for(int i = 0; i < accounts; i++) {
+            prepared[i] = new BankAccount(String.format("ACC-%06d", i), "Owner " + (i % 1000), 100.0);
+        }
+    }
+
+    @Benchmark
+    public Bank loadAccounts() {
+        Bank bank = new Bank(accounts);
+        for(BankAccount account : prepared) {
+            bank.addAccount(account);
+        }
+        return bank;
+    }
+
+}
@@ -0,0 +1,89 @@
+package com.vbforge;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+//single-threaded cost of the main Bank operations against bank size
+//every other account is a savings account, so interest run and report touch both account types
+//bank is rebuilt before every iteration, so interest runs always start from the initial balances
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BankOperationsBenchmark {
+
+    private static final int LOOKUPS = 1024;
+
+    //interest runs per measured batch (ten years of monthly runs); interest compounds, so an unbounded number
+    //of runs on the same bank would overflow long cents after ~10^4 runs
+    private static final int INTEREST_RUNS = 120;
+
+    @Param({"10000", "100000", "1000000"})
+    private int accounts;
+
+    private Bank bank;
+    private final String[] hits = new String[LOOKUPS];
+    private final String[] misses = new String[LOOKUPS];
+    private int next;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        bank = new Bank(accounts);
+        for(int i = 0; i < accounts; i++) {
+            String number = AccountNumbers.fromKey(i);
+            bank.addAccount(i % 2 == 0
+                    ? new BankAccount(number, "Owner " + (i % 1000), 100.0)
+                    : new SavingsAccount(number, "Owner " + (i % 1000), 100.0, 2.5, 10));
+        }
+        for(int i = 0; i < LOOKUPS; i++) {
+            hits[i] = AccountNumbers.fromKey((int) ((long) i * 7919 % accounts));
+            int absent = accounts + i;
+            misses[i] = i % 2 == 0 && absent <= AccountNumbers.MAX_KEY ? AccountNumbers.fromKey(absent) : "ACC-X" + i;
+        }
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public BankAccount findAccountHit() {
+        next = (next + 1) & (LOOKUPS - 1);
+        return bank.findAccount(hits[next]);
+    }
+
+    //misses are half well-formed numbers not in the bank, half malformed numbers
+    //(a 1M bank holds every well-formed number, so all its misses are malformed)
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public BankAccount findAccountMiss() {
+        next = (next + 1) & (LOOKUPS - 1);
+        return bank.findAccount(misses[next]);
+    }
+
+    //score is time of the whole batch of INTEREST_RUNS runs
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 10, batchSize = INTEREST_RUNS)
+    @Measurement(iterations = 10, batchSize = INTEREST_RUNS)
+    public void processMonthlyInterest() {
+        bank.processMonthlyInterest();
+    }
+
+    @Benchmark
+    public String generateAccountReport() {
+        return bank.generateAccountReport();
+    }
+
+}
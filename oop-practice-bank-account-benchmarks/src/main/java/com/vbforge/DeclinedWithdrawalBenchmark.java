@@ -0,0 +1,47 @@
+package com.vbforge;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+//declined withdrawal: thrown TransactionRejectedException (stack trace filled in) vs. status returned by tryWithdraw()
+//run with -prof gc to see allocation per operation
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DeclinedWithdrawalBenchmark {
+
+    private BankAccount account;
+
+    @Setup
+    public void setUp() {
+        account = new SavingsAccount("ACC-123456", "John Doe", 1000.0, 5.0, 500);
+    }
+
+    @Benchmark
+    public boolean throwingWithdraw() {
+        try {
+            return account.withdraw(600.0);
+        } catch (TransactionRejectedException e) {
+            return false;
+        }
+    }
+
+    @Benchmark
+    public TransactionStatus tryWithdraw() {
+        return account.tryWithdraw(600.0);
+    }
+
+}
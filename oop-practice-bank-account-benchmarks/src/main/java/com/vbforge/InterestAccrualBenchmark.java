@@ -0,0 +1,77 @@
+package com.vbforge;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+//cost of one daily accrual tick over columnar storage, compared with posting and with the monthly interest run
+//bank is rebuilt before every iteration, so accrued interest and balances always start from the initial state,
+//and a full posting interval is accrued in setup, so post() moves real interest instead of scanning zeros
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InterestAccrualBenchmark {
+
+    //interest runs per measured batch (ten years of monthly runs); interest compounds, so an unbounded number
+    //of runs on the same bank would overflow long cents after ~10^4 runs
+    private static final int INTEREST_RUNS = 120;
+
+    @Param({"100000", "1000000"})
+    private int accounts;
+
+    private ColumnarBank bank;
+    private InterestAccrualEngine engine;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        bank = new ColumnarBank(accounts);
+        for(int i = 0; i < accounts; i++) {
+            String number = AccountNumbers.fromKey(i);
+            bank.addAccount(i % 2 == 0
+                    ? new SavingsAccount(number, "Owner", 1000.0, 2.5, 0)
+                    : new BankAccount(number, "Owner", 1000.0));
+        }
+        engine = new InterestAccrualEngine(bank, InterestAccrualEngine.MAX_POSTING_INTERVAL_DAYS);
+        for(int day = 0; day < InterestAccrualEngine.MAX_POSTING_INTERVAL_DAYS; day++) {
+            bank.accrueDailyInterest();
+        }
+    }
+
+    @Benchmark
+    public void dailyAccrual() {
+        bank.accrueDailyInterest();
+    }
+
+    //one posting per iteration, later ones would find only fractions of a cent left
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 20)
+    @Measurement(iterations = 20)
+    public long post() {
+        return engine.post();
+    }
+
+    //score is time of the whole batch of INTEREST_RUNS runs
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 10, batchSize = INTEREST_RUNS)
+    @Measurement(iterations = 10, batchSize = INTEREST_RUNS)
+    public void monthlyInterest() {
+        bank.processMonthlyInterest();
+    }
+
+}
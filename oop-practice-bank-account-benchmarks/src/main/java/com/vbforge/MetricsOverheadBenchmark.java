@@ -0,0 +1,55 @@
+package com.vbforge;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+//cost of instrumentation on the hottest operation: findAccount with metrics off and on
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MetricsOverheadBenchmark {
+
+    private static final int ACCOUNTS = 100_000;
+
+    @Param({"false", "true"})
+    private boolean metrics;
+
+    private Bank bank;
+    private final String[] numbers = new String[1024];
+    private int next;
+
+    @Setup
+    public void setUp() {
+        bank = new Bank(ACCOUNTS);
+        for(int i = 0; i < ACCOUNTS; i++) {
+            bank.addAccount(new BankAccount(AccountNumbers.fromKey(i), "Owner", 100.0));
+        }
+        for(int i = 0; i < numbers.length; i++) {
+            numbers[i] = AccountNumbers.fromKey(i * 97);
+        }
+        if(metrics) {
+            bank.enableMetrics();
+        }
+    }
+
+    @Benchmark
+    public BankAccount findAccount() {
+        next = (next + 1) & (numbers.length - 1);
+        return bank.findAccount(numbers[next]);
+    }
+
+}
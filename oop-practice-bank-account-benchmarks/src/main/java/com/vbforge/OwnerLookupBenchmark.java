@@ -0,0 +1,81 @@
+package com.vbforge;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+//getAccountsByOwner through owner index vs. the former two-pass scan (count, then copy)
+//every owner has 3 accounts, so the result size stays fixed while the bank grows
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OwnerLookupBenchmark {
+
+    private static final int ACCOUNTS_PER_OWNER = 3;
+
+    @Param({"1000", "100000", "1000000"})
+    private int accounts;
+
+    private Bank bank;
+    private BankAccount[] plainAccounts;    //same accounts in plain array for the scan baseline
+    private String[] owners;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        bank = new Bank(accounts);
+        plainAccounts = new BankAccount[accounts];
+        owners = new String[accounts / ACCOUNTS_PER_OWNER];
+        for(int i = 0; i < owners.length; i++) {
+            owners[i] = "Owner " + i;
+        }
+        for(int i = 0; i < accounts; i++) {
+            BankAccount account = new BankAccount(String.format("ACC-%06d", i), owners[i % owners.length], 100.0);
+            plainAccounts[i] = account;
+            bank.addAccount(account);
+        }
+    }
+
+    @Benchmark
+    public BankAccount[] ownerIndex() {
+        return bank.getAccountsByOwner(nextOwner());
+    }
+
+    @Benchmark
+    public BankAccount[] twoPassScan() {
+        String ownerName = nextOwner();
+        int count = 0;
+        for(BankAccount account : plainAccounts) {
+            if(account.getOwnerName().equals(ownerName)) {
+                count++;
+            }
+        }
+        BankAccount[] result = new BankAccount[count];
+        int index = 0;
+        for(BankAccount account : plainAccounts) {
+            if(account.getOwnerName().equals(ownerName)) {
+                result[index++] = account;
+            }
+        }
+        return result;
+    }
+
+    private String nextOwner() {
+        next = next + 1 == owners.length ? 0 : next + 1;
+        return owners[next];
+    }
+
+}
@@ -0,0 +1,67 @@
+package com.vbforge;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+//transfer throughput of ShardedBank against shard count, 8 client threads sending random transfers
+//shards = 1 keeps every transfer on one writer thread, more shards spread writes but add cross-shard messages
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+public class ShardedBankBenchmark {
+
+    private static final int ACCOUNTS = 10_000;
+
+    @Param({"1", "2", "4", "8"})
+    private int shards;
+
+    private ShardedBank bank;
+    private final String[] numbers = new String[ACCOUNTS];
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        bank = new ShardedBank(shards);
+        for(int i = 0; i < ACCOUNTS; i++) {
+            numbers[i] = AccountNumbers.fromKey(i);
+            bank.addAccount(new BankAccount(numbers[i], "Owner", 1_000_000.0));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        bank.close();
+    }
+
+    @Benchmark
+    public void transfer() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int from = random.nextInt(ACCOUNTS);
+        int to = (from + 1 + random.nextInt(ACCOUNTS - 1)) % ACCOUNTS;
+        bank.transfer(numbers[from], numbers[to], 1.0);
+    }
+
+    @Benchmark
+    public void deposit() {
+        bank.deposit(numbers[ThreadLocalRandom.current().nextInt(ACCOUNTS)], 1.0);
+    }
+
+}
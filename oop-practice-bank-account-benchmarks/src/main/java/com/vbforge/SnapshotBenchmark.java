@@ -0,0 +1,77 @@
+package com.vbforge;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+//binary snapshot: save, full load and opening of mapped view (plus one lookup)
+//account numbers are ACC-000000..ACC-999999, so 1M is the largest possible bank
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class SnapshotBenchmark {
+
+    @Param({"100000", "1000000"})
+    private int accounts;
+
+    private Bank bank;
+    private Path directory;
+    private Path saved;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        bank = new Bank();
+        for(int i = 0; i < accounts; i++) {
+            String number = AccountNumbers.fromKey(i);
+            bank.addAccount(i % 4 == 0
+                    ? new SavingsAccount(number, "Owner " + (i % 10_000), 1000.0, 3.5, 100)
+                    : new BankAccount(number, "Owner " + (i % 10_000), 250.0));
+        }
+        directory = Files.createTempDirectory("bank-snapshot");
+        saved = directory.resolve("saved.snapshot");
+        bank.saveSnapshot(saved);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(saved);
+        Files.deleteIfExists(directory.resolve("written.snapshot"));
+        Files.deleteIfExists(directory);
+    }
+
+    @Benchmark
+    public Path save() throws IOException {
+        Path file = directory.resolve("written.snapshot");
+        bank.saveSnapshot(file);
+        return file;
+    }
+
+    @Benchmark
+    public Bank load() throws IOException {
+        return Bank.loadSnapshot(saved);
+    }
+
+    @Benchmark
+    public BankAccount mapAndFind() throws IOException {
+        return BankSnapshot.map(saved).findAccount(AccountNumbers.fromKey(accounts / 2));
+    }
+
+}
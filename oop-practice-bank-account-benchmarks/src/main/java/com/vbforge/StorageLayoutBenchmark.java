@@ -0,0 +1,108 @@
+package com.vbforge;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+//bulk aggregates over object-array Bank vs. struct-of-arrays ColumnarBank holding the same accounts
+//accounts are created in shuffled order, so Bank's account objects are scattered over the heap like in a long-running process
+//banks are rebuilt before every iteration, so interest runs always start from the initial balances
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StorageLayoutBenchmark {
+
+    //interest runs per measured batch (ten years of monthly runs); interest compounds, so an unbounded number
+    //of runs on the same bank would overflow long cents after ~10^4 runs
+    private static final int INTEREST_RUNS = 120;
+
+    @Param({"10000", "1000000"})
+    private int accounts;
+
+    private int[] order;                                    //shuffled creation order of account keys
+    private Bank objectBank;
+    private ColumnarBank columnarBank;
+
+    @Setup(Level.Trial)
+    public void shuffle() {
+        order = new int[accounts];
+        for(int i = 0; i < accounts; i++) {
+            order[i] = i;
+        }
+        Random random = new Random(42);
+        for(int i = accounts - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = order[i];
+            order[i] = order[j];
+            order[j] = swap;
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        objectBank = new Bank(accounts);
+        columnarBank = new ColumnarBank(accounts);
+        for(int i : order) {
+            String number = AccountNumbers.fromKey(i);
+            BankAccount account = i % 2 == 0
+                    ? new SavingsAccount(number, "Owner " + i, 1000.0 + i, 3.5, 100)
+                    : new BankAccount(number, "Owner " + i, 1000.0 + i);
+            objectBank.addAccount(account);
+            columnarBank.addAccount(account);
+        }
+    }
+
+    @Benchmark
+    public long objectTotalBalance() {
+        return objectBank.getTotalBankBalanceCents();
+    }
+
+    @Benchmark
+    public long columnarTotalBalance() {
+        return columnarBank.getTotalBankBalanceCents();
+    }
+
+    @Benchmark
+    public int objectActiveCount() {
+        return objectBank.getActiveAccountsCount();
+    }
+
+    @Benchmark
+    public int columnarActiveCount() {
+        return columnarBank.getActiveAccountsCount();
+    }
+
+    //score is time of the whole batch of INTEREST_RUNS runs
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 10, batchSize = INTEREST_RUNS)
+    @Measurement(iterations = 10, batchSize = INTEREST_RUNS)
+    public void objectMonthlyInterest() {
+        objectBank.processMonthlyInterest();
+    }
+
+    //score is time of the whole batch of INTEREST_RUNS runs
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 10, batchSize = INTEREST_RUNS)
+    @Measurement(iterations = 10, batchSize = INTEREST_RUNS)
+    public void columnarMonthlyInterest() {
+        columnarBank.processMonthlyInterest();
+    }
+
+}
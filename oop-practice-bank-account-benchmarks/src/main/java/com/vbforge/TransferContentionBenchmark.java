@@ -0,0 +1,55 @@
+package com.vbforge;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+//Bank.transfer throughput with 8 threads picking random pairs out of the first hotAccounts accounts
+//hotAccounts = 2 makes every transfer fight for the same two locks, larger sets spread over lock stripes
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+public class TransferContentionBenchmark {
+
+    private static final int ACCOUNTS = 100_000;
+
+    @Param({"2", "64", "100000"})
+    private int hotAccounts;
+
+    private Bank bank;
+    private final String[] numbers = new String[ACCOUNTS];
+
+    @Setup
+    public void setUp() {
+        bank = new Bank(ACCOUNTS);
+        for(int i = 0; i < ACCOUNTS; i++) {
+            numbers[i] = AccountNumbers.fromKey(i);
+            bank.addAccount(new BankAccount(numbers[i], "Owner", 1_000_000.0));
+        }
+    }
+
+    @Benchmark
+    public void transfer() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int from = random.nextInt(hotAccounts);
+        int to = (from + 1 + random.nextInt(hotAccounts - 1)) % hotAccounts;
+        bank.transfer(numbers[from], numbers[to], 1.0);
+    }
+
+}
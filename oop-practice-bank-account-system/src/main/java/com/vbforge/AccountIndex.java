@@ -0,0 +1,129 @@
+package com.vbforge;
+
+import java.util.Arrays;
+
+//open-addressing hash index: account key (numeric part of account number) -> position in storage array
+//linear probing over primitive arrays, no boxing and no string hashing
+final class AccountIndex {
+
+    private static final int EMPTY = -1;                    //marker for free slot
+    private static final int MIN_TABLE_SIZE = 16;
+    private static final int MAX_TABLE_SIZE = 1 << 30;
+    private static final int GOLDEN_RATIO = 0x9E3779B9;     //multiplier for Fibonacci hashing
+
+    private int[] keys;                                     //account keys, EMPTY if slot is free
+    private int[] positions;                                //positions of accounts for keys in the same slot
+    private int mask;                                       //table size - 1 (table size is power of two)
+    private int shift;                                      //32 - log2(table size)
+    private int size;                                       //number of stored keys
+
+    AccountIndex(int expectedSize) {
+        allocate(tableSizeFor(expectedSize));
+    }
+
+    int size() {
+        return size;
+    }
+
+    //get(int key) - returns stored position or -1 if key is absent
+    int get(int key) {
+        int slot = slotOf(key);
+        while(true) {
+            int current = keys[slot];
+            if(current == key) {
+                return positions[slot];
+            }
+            if(current == EMPTY) {
+                return -1;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    //put(int key, int position) - inserts or replaces position for key
+    void put(int key, int position) {
+        if((size + 1) * 2 > keys.length) {                  //keep load factor <= 0.5 so probe chains stay short
+            rehash(keys.length * 2);
+        }
+        int slot = slotOf(key);
+        while(keys[slot] != EMPTY) {
+            if(keys[slot] == key) {
+                positions[slot] = position;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        positions[slot] = position;
+        size++;
+    }
+
+    //remove(int key) - removes key, returns false if it was absent
+    //uses backward-shift deletion, so no tombstones are left behind and lookups stay short
+    boolean remove(int key) {
+        int slot = slotOf(key);
+        while(keys[slot] != key) {
+            if(keys[slot] == EMPTY) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+        int gap = slot;
+        int next = (gap + 1) & mask;
+        while(keys[next] != EMPTY) {
+            int home = slotOf(keys[next]);
+            if(((next - home) & mask) >= ((next - gap) & mask)) {   //entry may move back into gap without passing its home slot
+                keys[gap] = keys[next];
+                positions[gap] = positions[next];
+                gap = next;
+            }
+            next = (next + 1) & mask;
+        }
+        keys[gap] = EMPTY;
+        size--;
+        if(keys.length > MIN_TABLE_SIZE && size * 8 < keys.length) {   //shrink so memory follows live keys
+            rehash(keys.length / 2);
+        }
+        return true;
+    }
+
+    //spread the sequential account keys over the table (Fibonacci hashing)
+    private int slotOf(int key) {
+        return (key * GOLDEN_RATIO) >>> shift;
+    }
+
+    private void rehash(int newTableSize) {
+        int[] oldKeys = keys;
+        int[] oldPositions = positions;
+        allocate(newTableSize);
+        for(int i = 0; i < oldKeys.length; i++) {
+            if(oldKeys[i] != EMPTY) {
+                int slot = slotOf(oldKeys[i]);
+                while(keys[slot] != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                positions[slot] = oldPositions[i];
+                size++;
+            }
+        }
+    }
+
+    private void allocate(int tableSize) {
+        keys = new int[tableSize];
+        Arrays.fill(keys, EMPTY);
+        positions = new int[tableSize];
+        mask = tableSize - 1;
+        shift = Integer.numberOfLeadingZeros(tableSize) + 1;
+        size = 0;
+    }
+
+    private static int tableSizeFor(int expectedSize) {
+        long needed = Math.max(MIN_TABLE_SIZE, (long) expectedSize * 2);
+        if(needed >= MAX_TABLE_SIZE) {
+            return MAX_TABLE_SIZE;
+        }
+        return Integer.highestOneBit((int) needed - 1) << 1;
+    }
+
+}
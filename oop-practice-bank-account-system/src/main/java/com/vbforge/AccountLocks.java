@@ -0,0 +1,86 @@
+package com.vbforge;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+//striped locks guarding account balances
+//each account maps to one stripe by its key, so accounts don't need a lock object of their own
+//two-account operations lock stripes in ascending stripe order, which rules out deadlocks
+final class AccountLocks {
+
+    static final int STRIPES = 1024;                        //power of two
+    private static final ReentrantLock[] LOCKS = new ReentrantLock[STRIPES];
+
+    static {
+        for(int i = 0; i < STRIPES; i++) {
+            LOCKS[i] = new ReentrantLock();
+        }
+    }
+
+    private AccountLocks() {
+    }
+
+    //stripeOf(int accountKey) - stripe index for account key
+    static int stripeOf(int accountKey) {
+        return (accountKey * 0x9E3779B9) >>> 22;            //top 10 bits, spreads sequential keys
+    }
+
+    static ReentrantLock lockFor(int accountKey) {
+        return LOCKS[stripeOf(accountKey)];
+    }
+
+    //lockBoth(int firstKey, int secondKey) - locks stripes of both accounts in ascending order
+    static void lockBoth(int firstKey, int secondKey) {
+        int first = stripeOf(firstKey);
+        int second = stripeOf(secondKey);
+        LOCKS[Math.min(first, second)].lock();
+        if(first != second) {
+            LOCKS[Math.max(first, second)].lock();
+        }
+    }
+
+    //lockAll() - locks every stripe in ascending order, no balance can change until unlockAll()
+    static void lockAll() {
+        for(ReentrantLock lock : LOCKS) {
+            lock.lock();
+        }
+    }
+
+    static void unlockAll() {
+        for(int i = STRIPES - 1; i >= 0; i--) {
+            LOCKS[i].unlock();
+        }
+    }
+
+    //lockStripesOf(int[] accountKeys, int count) - locks stripes of all given accounts in ascending order,
+    //returns marks of locked stripes for unlockStripes()
+    static boolean[] lockStripesOf(int[] accountKeys, int count) {
+        boolean[] marked = new boolean[STRIPES];
+        for(int i = 0; i < count; i++) {
+            marked[stripeOf(accountKeys[i])] = true;
+        }
+        for(int i = 0; i < STRIPES; i++) {
+            if(marked[i]) {
+                LOCKS[i].lock();
+            }
+        }
+        return marked;
+    }
+
+    static void unlockStripes(boolean[] marked) {
+        for(int i = STRIPES - 1; i >= 0; i--) {
+            if(marked[i]) {
+                LOCKS[i].unlock();
+            }
+        }
+    }
+
+    static void unlockBoth(int firstKey, int secondKey) {
+        int first = stripeOf(firstKey);
+        int second = stripeOf(secondKey);
+        if(first != second) {
+            LOCKS[Math.max(first, second)].unlock();
+        }
+        LOCKS[Math.min(first, second)].unlock();
+    }
+
+}
@@ -0,0 +1,49 @@
+package com.vbforge;
+
+//helper for the "ACC-XXXXXX" account number format
+//the six digits fit in an int, so numbers can be handled as primitive keys instead of strings
+final class AccountNumbers {
+
+    static final int INVALID_KEY = -1;      //returned for strings that do not match the pattern
+    static final int MAX_KEY = 999_999;     //largest possible numeric part
+
+    private static final int PREFIX_LENGTH = 4;             //"ACC-"
+    private static final int LENGTH = PREFIX_LENGTH + 6;    //"ACC-" + 6 digits
+
+    private AccountNumbers() {
+    }
+
+    //toKey(String accountNumber) - returns numeric part of "ACC-XXXXXX" or INVALID_KEY, char-level parse without allocation
+    static int toKey(String accountNumber) {
+        if(accountNumber == null || accountNumber.length() != LENGTH) {
+            return INVALID_KEY;
+        }
+        if(accountNumber.charAt(0) != 'A' || accountNumber.charAt(1) != 'C'
+                || accountNumber.charAt(2) != 'C' || accountNumber.charAt(3) != '-') {
+            return INVALID_KEY;
+        }
+        int key = 0;
+        for(int i = PREFIX_LENGTH; i < LENGTH; i++) {
+            char c = accountNumber.charAt(i);
+            if(c < '0' || c > '9') {
+                return INVALID_KEY;
+            }
+            key = key * 10 + (c - '0');
+        }
+        return key;
+    }
+
+    //fromKey(int key) - builds "ACC-XXXXXX" string for numeric key
+    static String fromKey(int key) {
+        if(key < 0 || key > MAX_KEY) {
+            throw new IllegalArgumentException("Account key must be between 0 and " + MAX_KEY + ".");
+        }
+        char[] chars = {'A', 'C', 'C', '-', '0', '0', '0', '0', '0', '0'};
+        for(int i = LENGTH - 1; i >= PREFIX_LENGTH; i--) {
+            chars[i] = (char) ('0' + key % 10);
+            key /= 10;
+        }
+        return new String(chars);
+    }
+
+}
@@ -0,0 +1,22 @@
+package com.vbforge;
+
+//callback for account state changes, attached by the owning Bank (journal, running totals, ...)
+//called while the account lock is held, so calls for one account arrive in the order the changes happened;
+//implementations must be fast and must not take account locks themselves
+interface AccountObserver {
+
+    //balanceChanged(BankAccount account, long deltaCents) - balance changed by deltaCents (positive or negative)
+    void balanceChanged(BankAccount account, long deltaCents);
+
+    //transferred(BankAccount source, BankAccount target, long cents) - cents moved from source to target,
+    //only called when the observer watches both accounts (otherwise each side is reported as balanceChanged)
+    void transferred(BankAccount source, BankAccount target, long cents);
+
+    //statusChanged(BankAccount account, boolean active) - account was activated or deactivated
+    void statusChanged(BankAccount account, boolean active);
+
+    //withdrawalDeclined(BankAccount account, RejectionReason reason) - withdraw() or tryWithdraw() was declined,
+    //balance did not change; called without account lock when the amount itself is invalid
+    void withdrawalDeclined(BankAccount account, RejectionReason reason);
+
+}
@@ -0,0 +1,56 @@
+package com.vbforge;
+
+import java.io.IOException;
+import java.io.Writer;
+
+//renders bank account report to a Writer in one pass
+//text is collected in one reused StringBuilder and handed to the Writer in chunks through one reused char buffer,
+//so no String is created per account and memory use doesn't grow with the size of the bank
+final class AccountReportWriter {
+
+    private static final int CHUNK_SIZE = 8192;             //chars collected before they are written out
+
+    private final Writer out;
+    private final StringBuilder line = new StringBuilder(CHUNK_SIZE + 256);
+    private final char[] chunk = new char[CHUNK_SIZE + 256];
+
+    AccountReportWriter(Writer out) {
+        this.out = out;
+    }
+
+    //write(BankAccount[] accounts, int size) - writes report for first size accounts and flushes
+    void write(BankAccount[] accounts, int size) throws IOException {
+        line.append("=== Bank Account Report ===\n");
+
+        int active = 0;
+        long totalCents = 0;
+        for(int i = 0; i < size; i++) {
+            BankAccount account = accounts[i];
+            account.appendTo(line).append('\n');
+            if(account.isActive()) {
+                active++;
+            }
+            totalCents += account.getBalanceCents();
+            if(line.length() >= CHUNK_SIZE) {
+                drain();
+            }
+        }
+
+        line.append("---------------------------\n");
+        line.append("Total accounts: ").append(size).append('\n');
+        line.append("Active accounts: ").append(active).append('\n');
+        line.append("Total bank balance: ");
+        Money.appendFormatted(totalCents, line).append('\n');
+        drain();
+        out.flush();
+    }
+
+    private void drain() throws IOException {
+        int length = line.length();
+        char[] buffer = length <= chunk.length ? chunk : new char[length];     //very long owner names only
+        line.getChars(0, length, buffer, 0);
+        out.write(buffer, 0, length);
+        line.setLength(0);
+    }
+
+}
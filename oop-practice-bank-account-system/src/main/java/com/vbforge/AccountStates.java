@@ -0,0 +1,45 @@
+package com.vbforge;
+
+//point-in-time copy of account state in parallel arrays (one row per account), taken while account locks are held
+//and written to disk after they are released, so snapshot and checkpoint I/O never blocks account changes
+final class AccountStates {
+
+    final int count;
+    final int[] keys;
+    final String[] ownerNames;                              //immutable, shared with accounts
+    final boolean[] savings;
+    final boolean[] active;
+    final long[] balancesCents;
+    final long[] scaledInterestRates;                       //0 for checking accounts
+    final int[] minimumBalances;                            //0 for checking accounts
+
+    private AccountStates(int count) {
+        this.count = count;
+        this.keys = new int[count];
+        this.ownerNames = new String[count];
+        this.savings = new boolean[count];
+        this.active = new boolean[count];
+        this.balancesCents = new long[count];
+        this.scaledInterestRates = new long[count];
+        this.minimumBalances = new int[count];
+    }
+
+    //copyOf(BankAccount[] accounts, int count) - copies first count accounts, caller makes sure they do not change meanwhile
+    static AccountStates copyOf(BankAccount[] accounts, int count) {
+        AccountStates states = new AccountStates(count);
+        for(int i = 0; i < count; i++) {
+            BankAccount account = accounts[i];
+            states.keys[i] = account.getAccountKey();
+            states.ownerNames[i] = account.getOwnerName();
+            states.active[i] = account.isActive();
+            states.balancesCents[i] = account.getBalanceCents();
+            if(account instanceof SavingsAccount savingsAccount) {
+                states.savings[i] = true;
+                states.scaledInterestRates[i] = savingsAccount.getScaledInterestRate();
+                states.minimumBalances[i] = savingsAccount.getMinimumBalance();
+            }
+        }
+        return states;
+    }
+
+}
@@ -0,0 +1,108 @@
+package com.vbforge;
+
+import java.time.Clock;
+import java.util.Arrays;
+
+//balance history of one account: log of (time, delta) pairs in two primitive arrays plus a checkpoint
+//(balance so far) every CHECKPOINT_INTERVAL deltas; balance as of time T is a binary search for the last
+//delta at or before T followed by a replay of at most CHECKPOINT_INTERVAL - 1 deltas from the nearest checkpoint
+//attached to its account as observer, so deltas arrive under account lock in the order they were applied
+final class BalanceHistory implements AccountObserver {
+
+    static final int CHECKPOINT_INTERVAL = 64;              //power of two, position >> CHECKPOINT_SHIFT is checkpoint
+    private static final int CHECKPOINT_SHIFT = Integer.numberOfTrailingZeros(CHECKPOINT_INTERVAL);
+    private static final int INITIAL_ENTRIES = 8;
+
+    private final String accountNumber;
+    private final Clock clock;
+    private final long startMillis;                         //history knows nothing before this time
+
+    private long[] times = new long[INITIAL_ENTRIES];       //epoch millis, non-decreasing
+    private long[] deltas = new long[INITIAL_ENTRIES];      //cents
+    private long[] checkpoints = new long[1];               //checkpoints[c] = balance before delta c * CHECKPOINT_INTERVAL
+    private int size;
+    private long balanceCents;                              //balance after last delta
+
+    BalanceHistory(String accountNumber, long openingBalanceCents, Clock clock) {
+        this.accountNumber = accountNumber;
+        this.clock = clock;
+        this.startMillis = clock.millis();
+        this.checkpoints[0] = openingBalanceCents;
+        this.balanceCents = openingBalanceCents;
+    }
+
+    String getAccountNumber() {
+        return accountNumber;
+    }
+
+    long getStartMillis() {
+        return startMillis;
+    }
+
+    synchronized int size() {
+        return size;
+    }
+
+    //record(long deltaCents) - appends delta at current clock time (never earlier than last delta)
+    synchronized void record(long deltaCents) {
+        long now = size == 0 ? Math.max(clock.millis(), startMillis) : Math.max(clock.millis(), times[size - 1]);
+        if(size == times.length) {
+            times = Arrays.copyOf(times, size * 2);
+            deltas = Arrays.copyOf(deltas, size * 2);
+        }
+        times[size] = now;
+        deltas[size] = deltaCents;
+        size++;
+        balanceCents += deltaCents;
+        if((size & (CHECKPOINT_INTERVAL - 1)) == 0) {
+            int checkpoint = size >>> CHECKPOINT_SHIFT;
+            if(checkpoint == checkpoints.length) {
+                checkpoints = Arrays.copyOf(checkpoints, checkpoint * 2);
+            }
+            checkpoints[checkpoint] = balanceCents;
+        }
+    }
+
+    //balanceCentsAsOf(long epochMillis) - balance after all deltas recorded at or before epochMillis,
+    //caller checks epochMillis is not before getStartMillis()
+    synchronized long balanceCentsAsOf(long epochMillis) {
+        int low = 0;
+        int high = size;
+        while(low < high) {                                 //first delta later than epochMillis
+            int middle = (low + high) >>> 1;
+            if(times[middle] <= epochMillis) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        int checkpoint = low >>> CHECKPOINT_SHIFT;
+        long balance = checkpoints[checkpoint];
+        for(int i = checkpoint << CHECKPOINT_SHIFT; i < low; i++) {
+            balance += deltas[i];
+        }
+        return balance;
+    }
+
+    @Override
+    public void balanceChanged(BankAccount account, long deltaCents) {
+        record(deltaCents);
+    }
+
+    @Override
+    public void transferred(BankAccount source, BankAccount target, long cents) {
+        //never called: a history watches a single account, so each side of a transfer arrives as balanceChanged
+        throw new IllegalStateException("Balance history watches a single account.");
+    }
+
+    @Override
+    public void statusChanged(BankAccount account, boolean active) {
+        //status does not change balance
+    }
+
+    @Override
+    public void withdrawalDeclined(BankAccount account, RejectionReason reason) {
+        //declined withdrawal does not change balance
+    }
+
+}
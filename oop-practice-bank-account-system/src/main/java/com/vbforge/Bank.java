@@ -1,55 +1,419 @@
 package com.vbforge;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+//thread-safe: account structure is guarded by a read-write lock (adds are rare, lookups are many),
+//balances are guarded by striped per-account locks (see AccountLocks), so transfers on different accounts run in parallel
 public class Bank {
 
-    private final BankAccount[] accounts;                   //array to store all bank accounts
+    private static final int INITIAL_STORAGE = 16;
+
+    static final int TRANSFER_IDS_REMEMBERED = 100_000;    //default number of transfer ids kept for transferOnce() at most
+    static final long TRANSFER_ID_TTL_MINUTES = 10;         //default time a transfer id is remembered
+
+    private BankAccount[] accounts;                         //array to store all bank accounts, grows and shrinks with size
     private int size;                                       //number of stored accounts
+    private final int capacity;                             //maximum number of accounts
+    private final AccountIndex index;                       //account key -> position in accounts array
+    private final Map<String, List<BankAccount>> accountsByOwner;   //owner name -> accounts in insertion order
+    private final ReadWriteLock structureLock = new ReentrantReadWriteLock();
+    private final AccountObserver observer = new BankObserver();    //attached to every account of this bank
+    private final LongAdder totalBalanceCents = new LongAdder();   //running total, updated by observer (striped for concurrent updates)
+    private final LongAdder activeAccounts = new LongAdder();      //running count of active accounts
+    private volatile BankMetrics metrics = BankMetrics.DISABLED;   //shared no-op instance while metrics are off
+    private final IdempotencyCache<TransferAttempt> transferAttempts;  //transfer id -> attempt, see transferOnce()
+    private volatile Clock historyClock;                    //null while balance history is off
+    private final Map<Integer, BalanceHistory> histories = new ConcurrentHashMap<>();  //account key -> history, kept after close
+
+    private volatile TransactionJournal journal;            //null while journaling is off
+    private Path journalFile;                               //journalFile and groupCommitMillis are guarded by journalSwitch
+    private long groupCommitMillis;
+    private final Lock journalSwitch = new ReentrantLock();     //one enableJournal/checkpoint/closeJournal at a time
 
+    //Bank() - bank limited only by the account number space (1,000,000 accounts)
+    public Bank() {
+        this(AccountNumbers.MAX_KEY + 1);
+    }
+
+    //Bank(int capacity) - bank holding at most capacity accounts, storage is allocated as accounts are added
     public Bank(int capacity) {
+        this(capacity, TRANSFER_IDS_REMEMBERED, TRANSFER_ID_TTL_MINUTES, TimeUnit.MINUTES);
+    }
+
+    //Bank(int capacity, int transferIdsRemembered, long transferIdTtl, TimeUnit unit) - as Bank(int), transferOnce()
+    //remembers at most transferIdsRemembered ids for transferIdTtl each (see transferOnce() for sizing)
+    public Bank(int capacity, int transferIdsRemembered, long transferIdTtl, TimeUnit unit) {
         if(capacity <= 0) {
             throw new IllegalArgumentException("Bank capacity must be greater than 0.");
         }
+        if(transferIdsRemembered <= 0) {
+            throw new IllegalArgumentException("Number of remembered transfer ids must be greater than 0.");
+        }
+        if(transferIdTtl <= 0) {
+            throw new IllegalArgumentException("Transfer id time-to-live must be positive.");
+        }
+        if(unit == null) {
+            throw new IllegalArgumentException("Time unit cannot be null.");
+        }
 
-        this.accounts = new BankAccount[capacity];
+        this.capacity = capacity;
+        this.accounts = new BankAccount[Math.min(capacity, INITIAL_STORAGE)];
         this.size = 0;
+        this.index = new AccountIndex(accounts.length);
+        this.accountsByOwner = new HashMap<>();
+        this.transferAttempts = new IdempotencyCache<>(transferIdsRemembered, transferIdTtl, unit);
     }
 
     //addAccount(BankAccount account) - adds account to bank
     //no duplicates allowed
     public boolean addAccount(BankAccount account) {
+        BankMetrics metrics = this.metrics;
+        long start = metrics.start();
+        try {
+            return insert(account);
+        } finally {
+            metrics.record(BankMetrics.Operation.ADD_ACCOUNT, start);
+        }
+    }
+
+    //helper method behind addAccount()
+    private boolean insert(BankAccount account) {
         if(account == null) {
             throw new IllegalArgumentException("Bank account must not be null.");
         }
-        if(size == accounts.length) {
-            return false; //bank is full
+        structureLock.writeLock().lock();
+        try {
+            if(size == capacity) {
+                return false; //bank is full
+            }
+            if(index.get(account.getAccountKey()) >= 0) {
+                return false; //no duplicates
+            }
+            if(size == accounts.length) {
+                accounts = Arrays.copyOf(accounts, (int) Math.min(capacity, accounts.length * 2L));  //amortized O(1)
+            }
+            Lock accountLock = account.lock();
+            accountLock.lock();             //no balance change can slip in between journal record and attach
+            try {
+                if(journal != null) {
+                    journal.appendOpen(account);
+                }
+                account.attach(observer);
+                addToAggregates(account, 1);
+                trackHistory(account);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to journal new account " + account.getAccountNumber() + ".", e);
+            } finally {
+                accountLock.unlock();
+            }
+            index.put(account.getAccountKey(), size);
+            accounts[size++] = account;
+            accountsByOwner.computeIfAbsent(account.getOwnerName(), owner -> new ArrayList<>(1)).add(account);
+            return true;
+        } finally {
+            structureLock.writeLock().unlock();
         }
-        if(findAccount(account.getAccountNumber()) != null) {
-            return false; //no duplicates
+    }
+
+    //removeAccount(String accountNumber) - closes account: removes it from bank and returns it, or null if not found
+    //O(1): last account is moved into the freed position (swap-remove), so account order may change
+    public BankAccount removeAccount(String accountNumber) {
+        BankMetrics metrics = this.metrics;
+        long start = metrics.start();
+        try {
+            return delete(accountNumber);
+        } finally {
+            metrics.record(BankMetrics.Operation.REMOVE_ACCOUNT, start);
+        }
+    }
+
+    //helper method behind removeAccount()
+    private BankAccount delete(String accountNumber) {
+        if(accountNumber == null) {
+            throw new IllegalArgumentException("Account number cannot be null.");
+        }
+        int key = AccountNumbers.toKey(accountNumber);
+        if(key == AccountNumbers.INVALID_KEY) {
+            return null;
+        }
+        structureLock.writeLock().lock();
+        try {
+            int position = index.get(key);
+            if(position < 0) {
+                return null;
+            }
+            BankAccount account = accounts[position];
+            Lock accountLock = account.lock();
+            accountLock.lock();
+            try {
+                if(journal != null) {
+                    journal.appendClose(key);
+                }
+                account.detach(observer);
+                addToAggregates(account, -1);
+                untrackHistory(account);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to journal closed account " + accountNumber + ".", e);
+            } finally {
+                accountLock.unlock();
+            }
+
+            int last = size - 1;
+            if(position != last) {
+                accounts[position] = accounts[last];
+                index.put(accounts[position].getAccountKey(), position);
+            }
+            accounts[last] = null;
+            size--;
+            index.remove(key);
+            List<BankAccount> ownerAccounts = accountsByOwner.get(account.getOwnerName());
+            ownerAccounts.remove(account);
+            if(ownerAccounts.isEmpty()) {
+                accountsByOwner.remove(account.getOwnerName());
+            }
+            if(accounts.length > INITIAL_STORAGE && size < accounts.length / 4) {
+                accounts = Arrays.copyOf(accounts, accounts.length / 2);    //memory follows live accounts
+            }
+            return account;
+        } finally {
+            structureLock.writeLock().unlock();
+        }
+    }
+
+    //size() - returns number of accounts in bank
+    public int size() {
+        structureLock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            structureLock.readLock().unlock();
         }
-        accounts[size++] = account;
-        return true;
     }
 
     //findAccount(String accountNumber) - returns account or null
     public BankAccount findAccount(String accountNumber) {
+        BankMetrics metrics = this.metrics;
+        long start = metrics.start();
+        try {
+            return lookup(accountNumber);
+        } finally {
+            metrics.record(BankMetrics.Operation.FIND_ACCOUNT, start);
+        }
+    }
+
+    //helper method behind findAccount(), used by other operations so they are not measured as lookups
+    private BankAccount lookup(String accountNumber) {
         if(accountNumber == null) {
             throw new IllegalArgumentException("Account number cannot be null.");
         }
-        for(int i = 0; i < size; i++) {
-            if(accounts[i].getAccountNumber().equals(accountNumber)) {
-                return accounts[i];
+        int key = AccountNumbers.toKey(accountNumber);
+        if(key == AccountNumbers.INVALID_KEY) {
+            return null; //malformed number can't belong to any account
+        }
+        structureLock.readLock().lock();
+        try {
+            int position = index.get(key);
+            return position < 0 ? null : accounts[position];
+        } finally {
+            structureLock.readLock().unlock();
+        }
+    }
+
+    //transfer(String fromAccountNumber, String toAccountNumber, double amount) - transfers money between accounts of this bank
+    //structure read lock is held until the money has moved, so neither account can be closed in between
+    public void transfer(String fromAccountNumber, String toAccountNumber, double amount) {
+        BankMetrics metrics = this.metrics;
+        long start = metrics.start();
+        structureLock.readLock().lock();
+        try {
+            BankAccount source = findExistingAccount(fromAccountNumber);
+            BankAccount target = findExistingAccount(toAccountNumber);
+            source.transfer(target, amount);
+        } catch (TransactionRejectedException e) {
+            metrics.recordRejection(e.getReason());
+            throw e;
+        } finally {
+            structureLock.readLock().unlock();
+            metrics.record(BankMetrics.Operation.TRANSFER, start);
+        }
+    }
+
+    //tryTransfer(String fromAccountNumber, String toAccountNumber, double amount) - same as transfer(),
+    //but a decline (including unknown account) is returned as status instead of thrown, so it allocates nothing
+    public TransactionStatus tryTransfer(String fromAccountNumber, String toAccountNumber, double amount) {
+        BankMetrics metrics = this.metrics;
+        long start = metrics.start();
+        structureLock.readLock().lock();           //as in transfer(), accounts stay open until money has moved
+        try {
+            BankAccount source = lookup(fromAccountNumber);
+            BankAccount target = lookup(toAccountNumber);
+            TransactionStatus status = source == null || target == null
+                    ? TransactionStatus.ACCOUNT_NOT_FOUND
+                    : source.tryTransfer(target, amount);
+            if(!status.isCompleted()) {
+                metrics.recordRejection(status.getRejectionReason());
+            }
+            return status;
+        } finally {
+            structureLock.readLock().unlock();
+            metrics.record(BankMetrics.Operation.TRANSFER, start);
+        }
+    }
+
+    //transferOnce(String transferId, String fromAccountNumber, String toAccountNumber, double amount) - idempotent transfer:
+    //the first call with a client-supplied id transfers and returns true, a retry with the same id returns false
+    //without transferring again (or throws the same rejection as the first call); every id is remembered for the
+    //configured time-to-live and never forgotten earlier, so a retry within it can't transfer twice
+    //at most transferIdsRemembered ids are remembered (defaults: 100,000 ids for 10 minutes, ~167 new ids/s sustained):
+    //when that many unexpired ids are stored, a new id is rejected with TRANSFER_ID_LIMIT (counted by BankMetrics)
+    //without transferring, so size the limit for the peak transferOnce() rate times the time-to-live
+    public boolean transferOnce(String transferId, String fromAccountNumber, String toAccountNumber, double amount) {
+        if(transferId == null || transferId.isBlank()) {
+            throw new IllegalArgumentException("Transfer id cannot be null or empty.");
+        }
+        TransferAttempt attempt = new TransferAttempt(new Transfer(fromAccountNumber, toAccountNumber, amount));
+        TransferAttempt previous;
+        try {
+            previous = transferAttempts.putIfAbsent(transferId, attempt);
+        } catch (IllegalStateException e) {
+            metrics.recordRejection(RejectionReason.TRANSFER_ID_LIMIT);
+            throw new TransactionRejectedException(RejectionReason.TRANSFER_ID_LIMIT,
+                    "Too many transfer ids are remembered, transfer " + transferId + " was not applied.");
+        }
+        if(previous != null) {
+            if(!previous.request.equals(attempt.request)) {
+                throw new IllegalArgumentException("Transfer id " + transferId + " was already used for another transfer.");
+            }
+            try {
+                previous.outcome.join();            //waits if first attempt is still running
+                return false;
+            } catch (CompletionException e) {
+                if(e.getCause() instanceof Error error) {
+                    throw error;
+                }
+                throw (RuntimeException) e.getCause();
+            }
+        }
+        try {
+            transfer(fromAccountNumber, toAccountNumber, amount);
+            attempt.outcome.complete(null);
+            return true;
+        } catch (Throwable e) {                     //any failure, or retries of this id would wait forever
+            attempt.outcome.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    //transferBatch(Transfer[] batch) - applies all transfers of batch atomically: either every transfer or none
+    //phase 1 checks each instruction (accounts exist, different accounts, positive amount) and nets all movements
+    //into one delta per account, so opposing transfers between the same accounts cancel out;
+    //phase 2 locks every involved account, checks each net debit with the usual account rules and applies all deltas
+    //as one step (one journal record), so the whole batch has a single commit point
+    public void transferBatch(Transfer[] batch) {
+        BankMetrics metrics = this.metrics;
+        long start = metrics.start();
+        try {
+            if(batch == null) {
+                throw new IllegalArgumentException("Transfer batch cannot be null.");
             }
+            structureLock.readLock().lock();
+            try {
+                NetDeltas net = new NetDeltas((int) Math.min(2L * batch.length, size));
+
+                for(int i = 0; i < batch.length; i++) {
+                    Transfer transfer = batch[i];
+                    if(transfer == null) {
+                        throw new IllegalArgumentException("Transfer batch rejected, transfer #" + i + ": Transfer cannot be null.");
+                    }
+                    BankAccount source = lookup(transfer.getFromAccountNumber());
+                    BankAccount target = lookup(transfer.getToAccountNumber());
+                    if(source == null || target == null) {
+                        throw rejected(i, RejectionReason.ACCOUNT_NOT_FOUND, "Account not found: "
+                                + (source == null ? transfer.getFromAccountNumber() : transfer.getToAccountNumber()));
+                    }
+                    if(source == target) {
+                        throw rejected(i, RejectionReason.SAME_ACCOUNT, "Cannot transfer to the same account.");
+                    }
+                    long cents = Money.toCents(transfer.getAmount());
+                    if(transfer.getAmount() <= 0 || cents <= 0) {
+                        throw rejected(i, RejectionReason.INVALID_AMOUNT, "Transfer amount must be positive.");
+                    }
+                    try {
+                        net.add(source, -cents);
+                        net.add(target, cents);
+                    } catch (ArithmeticException e) {
+                        throw rejected(i, RejectionReason.BALANCE_OVERFLOW, "Net amount of batch does not fit in long cents.");
+                    }
+                }
+
+                boolean[] locked = AccountLocks.lockStripesOf(net.keys, net.count);
+                try {
+                    for(int i = 0; i < net.count; i++) {
+                        checkNetDelta(net.accounts[i], net.deltas[i]);
+                    }
+                    if(journal != null) {
+                        journal.appendBatch(net.keys, net.deltas, net.count);
+                    }
+                    //net deltas of a batch sum to zero, so running total stays as it is
+                    for(int i = 0; i < net.count; i++) {
+                        if(net.deltas[i] != 0) {
+                            net.accounts[i].applyBatchDelta(net.deltas[i], observer);
+                        }
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Failed to journal transfer batch.", e);
+                } finally {
+                    AccountLocks.unlockStripes(locked);
+                }
+            } finally {
+                structureLock.readLock().unlock();
+            }
+        } catch (TransactionRejectedException e) {
+            metrics.recordRejection(e.getReason());
+            throw e;
+        } finally {
+            metrics.record(BankMetrics.Operation.TRANSFER_BATCH, start);
         }
-        return null;
     }
 
     //getTotalBankBalance() - returns sum of all account balances
     public double getTotalBankBalance(){
-        double total = 0;
-        for(int i = 0; i < size; i++) {
-            total += accounts[i].getBalance();
-        }
-        return total;
+        return Money.toAmount(getTotalBankBalanceCents());
+    }
+
+    //getTotalBankBalanceCents() - exact sum of all account balances in cents
+    //O(1): running total kept by observer, exact whenever no change is in progress
+    public long getTotalBankBalanceCents(){
+        return totalBalanceCents.sum();
     }
 
     //getAccountsByOwner(String ownerName) - returns array of accounts for given owner
@@ -58,74 +422,654 @@ public class Bank {
             return new BankAccount[0]; //this avoids NullPointerException for callers — best practice
         }
 
-        int count = 0;
-        for (int i = 0; i < size; i++) {
-            if(accounts[i].getOwnerName().equals(ownerName)) {
-                count++;
+        structureLock.readLock().lock();
+        try {
+            List<BankAccount> ownerAccounts = accountsByOwner.get(ownerName);
+            if(ownerAccounts == null) {
+                return new BankAccount[0];
             }
+            return ownerAccounts.toArray(new BankAccount[ownerAccounts.size()]);
+        } finally {
+            structureLock.readLock().unlock();
         }
+    }
 
-        BankAccount[] result = new BankAccount[count];
-        int index = 0;
-        for(int i = 0; i < size; i++) {
-            if(accounts[i].getOwnerName().equals(ownerName)) {
-                result[index++] = accounts[i];
+    //processMonthlyInterest() - applies interest to all savings accounts
+    public void processMonthlyInterest(){
+        BankMetrics metrics = this.metrics;
+        long start = metrics.start();
+        try {
+            structureLock.readLock().lock();
+            try {
+                InterestRun.applyRange(accounts, 0, size);
+            } finally {
+                structureLock.readLock().unlock();
             }
+        } finally {
+            metrics.record(BankMetrics.Operation.MONTHLY_INTEREST, start);
         }
-        return result;
     }
 
-    //processMonthlyInterest() - applies interest to all savings accounts
-    public void processMonthlyInterest(){
-        for (int i = 0; i < size; i++) {
-            if(accounts[i] instanceof SavingsAccount) {
-                ((SavingsAccount)accounts[i]).applyInterest();
+    //processMonthlyInterestParallel() - applies interest to all savings accounts using fork-join pool,
+    //returns total interest credited; balances and total are identical to the serial run
+    public double processMonthlyInterestParallel(){
+        return Money.toAmount(processMonthlyInterestParallelCents(ForkJoinPool.commonPool()));
+    }
+
+    //processMonthlyInterestParallelCents(ForkJoinPool pool) - same as above on given pool, total in cents
+    public long processMonthlyInterestParallelCents(ForkJoinPool pool){
+        BankMetrics metrics = this.metrics;
+        long start = metrics.start();
+        try {
+            if(pool == null) {
+                throw new IllegalArgumentException("Fork-join pool cannot be null.");
+            }
+            structureLock.readLock().lock();    //held by caller thread, keeps the account array stable for the workers
+            try {
+                if(size <= InterestRun.THRESHOLD) {
+                    return InterestRun.applyRange(accounts, 0, size);
+                }
+                return pool.invoke(new InterestRun(accounts, 0, size));
+            } finally {
+                structureLock.readLock().unlock();
             }
+        } finally {
+            metrics.record(BankMetrics.Operation.MONTHLY_INTEREST, start);
         }
     }
 
-    //getActiveAccountsCount() - returns number of active accounts
+    //getActiveAccountsCount() - returns number of active accounts, O(1) running count
     public int getActiveAccountsCount(){
-        int count = 0;
-        for(int i = 0; i < size; i++) {
-           if(accounts[i].isActive()){
-               count++;
-           }
+        return activeAccounts.intValue();
+    }
+
+    //aggregatesConsistent() - recomputes total balance and active count over all accounts and compares with running values
+    //blocks all account changes while checking, intended for tests and periodic audits
+    public boolean aggregatesConsistent() {
+        structureLock.writeLock().lock();
+        AccountLocks.lockAll();
+        try {
+            long total = 0;
+            int active = 0;
+            for(int i = 0; i < size; i++) {
+                total += accounts[i].getBalanceCents();
+                if(accounts[i].isActive()) {
+                    active++;
+                }
+            }
+            return total == totalBalanceCents.sum() && active == activeAccounts.sum();
+        } finally {
+            AccountLocks.unlockAll();
+            structureLock.writeLock().unlock();
         }
-        return count;
     }
 
     //generateAccountReport() - returns formatted string with all account information
-    public String generateAccountReport(){StringBuilder sb = new StringBuilder();
-        sb.append("=== Bank Account Report ===\n");
+    //thin wrapper over writeAccountReport(Writer), prefer the streaming variants for large banks
+    public String generateAccountReport(){
+        StringWriter report = new StringWriter();
+        try {
+            writeAccountReport(report);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);      //StringWriter never throws
+        }
+        return report.toString();
+    }
 
-        for (int i = 0; i < size; i++) {
-            sb.append(accounts[i]).append("\n");
+    //writeAccountReport(Writer out) - renders report straight to out in a single pass over accounts,
+    //totals are summed while accounts are written; out is flushed, but not closed
+    public void writeAccountReport(Writer out) throws IOException {
+        BankMetrics metrics = this.metrics;
+        long start = metrics.start();
+        try {
+            if(out == null) {
+                throw new IllegalArgumentException("Report output cannot be null.");
+            }
+            structureLock.readLock().lock();
+            try {
+                new AccountReportWriter(out).write(accounts, size);
+            } finally {
+                structureLock.readLock().unlock();
+            }
+        } finally {
+            metrics.record(BankMetrics.Operation.ACCOUNT_REPORT, start);
         }
+    }
 
-        sb.append("---------------------------\n");
-        sb.append("Total accounts: ").append(size).append("\n");
-        sb.append("Active accounts: ").append(getActiveAccountsCount()).append("\n");
-        sb.append("Total bank balance: ")
-                .append(String.format("%.2f", getTotalBankBalance()))
-                .append("\n");
+    //writeAccountReport(OutputStream out) - same report as UTF-8 bytes
+    public void writeAccountReport(OutputStream out) throws IOException {
+        if(out == null) {
+            throw new IllegalArgumentException("Report output cannot be null.");
+        }
+        writeAccountReport(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+    }
 
-        return sb.toString();
+    //writeAccountReport(WritableByteChannel channel) - same report as UTF-8 bytes written to channel
+    public void writeAccountReport(WritableByteChannel channel) throws IOException {
+        if(channel == null) {
+            throw new IllegalArgumentException("Report output cannot be null.");
+        }
+        writeAccountReport(Channels.newWriter(channel, StandardCharsets.UTF_8));
     }
 
-}
+    //enableMetrics() - starts measuring operation latencies and rejections, returns metrics to scrape
+    public synchronized BankMetrics enableMetrics() {
+        if(!metrics.isEnabled()) {
+            metrics = BankMetrics.create();
+        }
+        return metrics;
+    }
+
+    //disableMetrics() - stops measuring, metrics returned by enableMetrics() keep values collected so far
+    public synchronized void disableMetrics() {
+        metrics = BankMetrics.DISABLED;
+    }
+
+    //getMetrics() - current metrics, all values are zero while metrics are off
+    public BankMetrics getMetrics() {
+        return metrics;
+    }
+
+    //enableHistory() - starts recording balance history of all accounts (see BalanceHistory) using system clock
+    public void enableHistory() {
+        enableHistory(Clock.systemUTC());
+    }
+
+    //enableHistory(Clock clock) - same with given clock, history of every account starts with its current balance
+    public void enableHistory(Clock clock) {
+        if(clock == null) {
+            throw new IllegalArgumentException("Clock cannot be null.");
+        }
+        structureLock.writeLock().lock();
+        AccountLocks.lockAll();             //no balance change between opening balance and attach
+        try {
+            if(historyClock != null) {
+                throw new IllegalStateException("Balance history is already enabled.");
+            }
+            historyClock = clock;
+            for(int i = 0; i < size; i++) {
+                trackHistory(accounts[i]);
+            }
+        } finally {
+            AccountLocks.unlockAll();
+            structureLock.writeLock().unlock();
+        }
+    }
+
+    //getBalanceAsOf(String accountNumber, Instant time) - balance account had at given time,
+    //O(log n) search plus short replay; a closed account has balance 0 from closing until it is reopened
+    public double getBalanceAsOf(String accountNumber, Instant time) {
+        return Money.toAmount(getBalanceCentsAsOf(accountNumber, time));
+    }
+
+    //getBalanceCentsAsOf(String accountNumber, Instant time) - same as getBalanceAsOf() in exact cents,
+    //rejects time before history of account started
+    public long getBalanceCentsAsOf(String accountNumber, Instant time) {
+        if(accountNumber == null) {
+            throw new IllegalArgumentException("Account number cannot be null.");
+        }
+        if(time == null) {
+            throw new IllegalArgumentException("Time cannot be null.");
+        }
+        checkHistoryEnabled();
+        int key = AccountNumbers.toKey(accountNumber);
+        BalanceHistory history = key == AccountNumbers.INVALID_KEY ? null : histories.get(key);
+        long millis = time.toEpochMilli();
+        if(history == null || millis < history.getStartMillis()) {
+            throw new IllegalArgumentException("No balance history for account " + accountNumber + " at " + time + ".");
+        }
+        return history.balanceCentsAsOf(millis);
+    }
+
+    //getBalancesAsOf(Instant time) - account number -> balance at given time for every account with history
+    //reaching back to that time (closed accounts included), accounts are queried in parallel on common pool
+    public Map<String, Double> getBalancesAsOf(Instant time) {
+        if(time == null) {
+            throw new IllegalArgumentException("Time cannot be null.");
+        }
+        checkHistoryEnabled();
+        long millis = time.toEpochMilli();
+        BalanceHistory[] covered = histories.values().stream()
+                .filter(history -> history.getStartMillis() <= millis)
+                .toArray(BalanceHistory[]::new);
+        long[] balances = new long[covered.length];
+        Arrays.parallelSetAll(balances, i -> covered[i].balanceCentsAsOf(millis));
+        Map<String, Double> result = new TreeMap<>();
+        for(int i = 0; i < covered.length; i++) {
+            result.put(covered[i].getAccountNumber(), Money.toAmount(balances[i]));
+        }
+        return result;
+    }
+
+    //enableJournal(Path file, long groupCommitMillis) - starts write-ahead journal of all account changes,
+    //the file starts with a snapshot of current accounts; records are forced to disk every groupCommitMillis
+    //changes made while the snapshot is written go to a side journal (file + ".pending") and are copied after it
+    public void enableJournal(Path file, long groupCommitMillis) throws IOException {
+        if(file == null) {
+            throw new IllegalArgumentException("Journal file cannot be null.");
+        }
+        journalSwitch.lock();
+        try {
+            if(journal != null) {
+                throw new IllegalStateException("Journal is already enabled.");
+            }
+            Path pending = file.resolveSibling(file.getFileName() + ".pending");
+            TransactionJournal changes = TransactionJournal.create(pending, groupCommitMillis,
+                    TransactionJournal.DEFAULT_SEGMENT_SIZE);
+            try {
+                attachJournal(changes);
+                switchJournal(file, changes, groupCommitMillis);
+                journalFile = file;
+                this.groupCommitMillis = groupCommitMillis;
+            } catch (IOException | RuntimeException e) {
+                if(journal == changes) {
+                    attachJournal(null);
+                }
+                throw e;
+            } finally {
+                changes.close();
+                Files.deleteIfExists(pending);
+            }
+        } finally {
+            journalSwitch.unlock();
+        }
+    }
+
+    //checkpoint() - replaces journal with snapshot of current state, so recovery replays only changes made after it
+    //account changes go on while the snapshot is written and forced, see switchJournal()
+    public void checkpoint() throws IOException {
+        journalSwitch.lock();
+        try {
+            TransactionJournal previous = journal;
+            if(previous == null) {
+                throw new IllegalStateException("Journal is not enabled.");
+            }
+            switchJournal(journalFile, previous, groupCommitMillis);
+            previous.close();
+        } finally {
+            journalSwitch.unlock();
+        }
+    }
+
+    //syncJournal() - forces journal records to disk without waiting for next group commit
+    public void syncJournal() {
+        TransactionJournal current = journal;
+        if(current != null) {
+            current.sync();
+        }
+    }
+
+    //closeJournal() - forces and closes journal, account changes are not recorded afterwards
+    public void closeJournal() throws IOException {
+        journalSwitch.lock();
+        try {
+            TransactionJournal previous = journal;
+            if(previous != null) {
+                attachJournal(null);
+                journalFile = null;
+                previous.close();               //no account lock held: changes are not journaled any more
+            }
+        } finally {
+            journalSwitch.unlock();
+        }
+    }
+
+    //saveSnapshot(Path file) - writes binary snapshot of all accounts (see BankSnapshot), replaces file atomically
+    //state is copied under all locks, so it is a consistent point-in-time copy; writing and forcing happens after
+    //they are released, so account changes wait only for the copy
+    public void saveSnapshot(Path file) throws IOException {
+        if(file == null) {
+            throw new IllegalArgumentException("Snapshot file cannot be null.");
+        }
+        AccountStates states;
+        structureLock.writeLock().lock();
+        AccountLocks.lockAll();
+        try {
+            states = AccountStates.copyOf(accounts, size);
+        } finally {
+            AccountLocks.unlockAll();
+            structureLock.writeLock().unlock();
+        }
+        Path temporary = Files.createTempFile(file.toAbsolutePath().getParent(), file.getFileName().toString(), ".tmp");
+        try {
+            BankSnapshot.write(temporary, states);
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temporary);
+            throw e;
+        }
+    }
+
+    //loadSnapshot(Path file) - builds unbounded bank from snapshot written by saveSnapshot(), accounts are not re-validated
+    public static Bank loadSnapshot(Path file) throws IOException {
+        if(file == null) {
+            throw new IllegalArgumentException("Snapshot file cannot be null.");
+        }
+        Bank bank = new Bank();
+        BankSnapshot.read(file, account -> {
+            if(!bank.addAccount(account)) {
+                throw new IllegalStateException("Cannot restore account " + account.getAccountNumber()
+                        + ": bank is full or account is duplicated.");
+            }
+        });
+        return bank;
+    }
+
+    //recover(Path file, int capacity, long groupCommitMillis) - rebuilds bank from journal (last checkpoint + later changes)
+    //and continues journaling into the same file
+    public static Bank recover(Path file, int capacity, long groupCommitMillis) throws IOException {
+        if(file == null) {
+            throw new IllegalArgumentException("Journal file cannot be null.");
+        }
+        Bank bank = new Bank(capacity);
+        bank.journal = TransactionJournal.openForAppend(file, groupCommitMillis, new JournalReplay(bank));
+        bank.journalFile = file;
+        bank.groupCommitMillis = groupCommitMillis;
+        return bank;
+    }
+
+    //helper method to replace current journal by new one in file that starts with snapshot of all accounts,
+    //caller holds journalSwitch and closes current journal afterwards
+    //all locks are held twice, briefly: to copy account state and mark current journal position, then to copy records
+    //journaled since the mark into new journal and install it; snapshot is written and forced in between,
+    //while account changes go on (into current journal)
+    private void switchJournal(Path file, TransactionJournal current, long groupCommitMillis) throws IOException {
+        AccountStates states;
+        long mark;
+        structureLock.writeLock().lock();
+        AccountLocks.lockAll();
+        try {
+            states = AccountStates.copyOf(accounts, size);
+            mark = current.position();
+        } finally {
+            AccountLocks.unlockAll();
+            structureLock.writeLock().unlock();
+        }
+
+        Path temporary = file.resolveSibling(file.getFileName() + ".checkpoint");
+        TransactionJournal next = writeSnapshotJournal(temporary, states, groupCommitMillis);
+        structureLock.writeLock().lock();
+        AccountLocks.lockAll();
+        try {
+            current.copySince(mark, next);
+            next.sync();                        //only records copied above are not forced yet
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            journal = next;
+        } catch (IOException | RuntimeException e) {
+            next.close();
+            Files.deleteIfExists(temporary);
+            throw e;
+        } finally {
+            AccountLocks.unlockAll();
+            structureLock.writeLock().unlock();
+        }
+    }
+
+    //helper method to set journal that account changes are written to, waits until no change is in progress
+    private void attachJournal(TransactionJournal attached) {
+        structureLock.writeLock().lock();
+        AccountLocks.lockAll();
+        try {
+            journal = attached;
+        } finally {
+            AccountLocks.unlockAll();
+            structureLock.writeLock().unlock();
+        }
+    }
+
+    //helper method to write new journal starting with OPEN record for every copied account, no lock is needed
+    private static TransactionJournal writeSnapshotJournal(Path file, AccountStates states, long groupCommitMillis)
+            throws IOException {
+        TransactionJournal snapshot = TransactionJournal.create(file, groupCommitMillis, TransactionJournal.DEFAULT_SEGMENT_SIZE);
+        try {
+            for(int i = 0; i < states.count; i++) {
+                snapshot.appendOpen(states.keys[i], states.ownerNames[i], states.savings[i], states.active[i],
+                        states.balancesCents[i], states.scaledInterestRates[i], states.minimumBalances[i]);
+            }
+            snapshot.sync();
+            return snapshot;
+        } catch (IOException | RuntimeException e) {
+            snapshot.close();
+            throw e;
+        }
+    }
+
+    //helper method to add (sign 1) or remove (sign -1) account from running aggregates, caller holds account lock
+    private void addToAggregates(BankAccount account, int sign) {
+        totalBalanceCents.add(sign * account.getBalanceCents());
+        if(account.isActive()) {
+            activeAccounts.add(sign);
+        }
+    }
+
+    //helper method to find account by numeric key or null
+    private BankAccount findByKey(int key) {
+        structureLock.readLock().lock();
+        try {
+            int position = index.get(key);
+            return position < 0 ? null : accounts[position];
+        } finally {
+            structureLock.readLock().unlock();
+        }
+    }
+
+    //helper method to check net batch delta of account against its rules, account lock held
+    private static void checkNetDelta(BankAccount account, long deltaCents) {
+        try {
+            if(deltaCents < 0) {
+                if(-deltaCents > account.getBalanceCents()) {
+                    throw new TransactionRejectedException(RejectionReason.INSUFFICIENT_FUNDS, "Insufficient funds.");
+                }
+                account.checkWithdrawal(-deltaCents);
+            } else {
+                Math.addExact(account.getBalanceCents(), deltaCents);
+            }
+        } catch (TransactionRejectedException e) {
+            throw new TransactionRejectedException(e.getReason(), "Transfer batch rejected, account "
+                    + account.getAccountNumber() + ": " + e.getMessage(), e);
+        } catch (ArithmeticException e) {
+            throw new TransactionRejectedException(RejectionReason.BALANCE_OVERFLOW, "Transfer batch rejected, account "
+                    + account.getAccountNumber() + ": " + e.getMessage(), e);
+        }
+    }
+
+    private static TransactionRejectedException rejected(int transferIndex, RejectionReason reason, String message) {
+        return new TransactionRejectedException(reason,
+                "Transfer batch rejected, transfer #" + transferIndex + ": " + message);
+    }
+
+    //helper method to find account that must exist
+    private BankAccount findExistingAccount(String accountNumber) {
+        BankAccount account = lookup(accountNumber);
+        if(account == null) {
+            throw new TransactionRejectedException(RejectionReason.ACCOUNT_NOT_FOUND, "Account not found: " + accountNumber);
+        }
+        return account;
+    }
+
+    //transfer requested by transferOnce() and its outcome, shared with retries of the same id
+    private static final class TransferAttempt {
+
+        private final Transfer request;
+        private final CompletableFuture<Void> outcome = new CompletableFuture<>();
 
+        TransferAttempt(Transfer request) {
+            this.request = request;
+        }
+    }
 
+    //net balance delta per account of a transfer batch, kept in parallel arrays
+    private static final class NetDeltas {
 
+        private final AccountIndex slots;                   //account key -> slot in arrays below
+        private final BankAccount[] accounts;
+        private final int[] keys;
+        private final long[] deltas;
+        private int count;
 
+        NetDeltas(int maxAccounts) {
+            slots = new AccountIndex(maxAccounts);
+            accounts = new BankAccount[maxAccounts];
+            keys = new int[maxAccounts];
+            deltas = new long[maxAccounts];
+        }
 
+        void add(BankAccount account, long deltaCents) {
+            int slot = slots.get(account.getAccountKey());
+            if(slot < 0) {
+                slot = count++;
+                slots.put(account.getAccountKey(), slot);
+                accounts[slot] = account;
+                keys[slot] = account.getAccountKey();
+            }
+            deltas[slot] = Math.addExact(deltas[slot], deltaCents);
+        }
 
+    }
 
+    //helper method to start (or resume after reopening) history of account, called with account lock held
+    private void trackHistory(BankAccount account) {
+        Clock clock = historyClock;
+        if(clock == null) {
+            return;
+        }
+        BalanceHistory history = histories.get(account.getAccountKey());
+        if(history == null) {
+            history = new BalanceHistory(account.getAccountNumber(), account.getBalanceCents(), clock);
+            histories.put(account.getAccountKey(), history);
+        } else {
+            history.record(account.getBalanceCents());      //reopened account, balance was 0 since closing
+        }
+        account.attach(history);
+    }
 
+    //helper method to stop history of closed account, its balance is 0 from now on; called with account lock held
+    private void untrackHistory(BankAccount account) {
+        BalanceHistory history = historyClock == null ? null : histories.get(account.getAccountKey());
+        if(history != null) {
+            account.detach(history);
+            history.record(-account.getBalanceCents());
+        }
+    }
 
+    private void checkHistoryEnabled() {
+        if(historyClock == null) {
+            throw new IllegalStateException("Balance history is not enabled.");
+        }
+    }
 
+    //receives changes of this bank's accounts and writes them to the journal
+    private final class BankObserver implements AccountObserver {
 
+        @Override
+        public void balanceChanged(BankAccount account, long deltaCents) {
+            TransactionJournal current = journal;
+            if(current != null) {
+                try {
+                    current.appendBalance(account.getAccountKey(), deltaCents);
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Failed to journal balance change.", e);
+                }
+            }
+            totalBalanceCents.add(deltaCents);      //only after journal accepted the change
+        }
 
+        @Override
+        public void transferred(BankAccount source, BankAccount target, long cents) {
+            TransactionJournal current = journal;
+            if(current != null) {
+                try {
+                    current.appendTransfer(source.getAccountKey(), target.getAccountKey(), cents);
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Failed to journal transfer.", e);
+                }
+            }
+            //both accounts belong to this bank, so running total does not change
+        }
 
+        @Override
+        public void statusChanged(BankAccount account, boolean active) {
+            TransactionJournal current = journal;
+            if(current != null) {
+                try {
+                    current.appendStatus(account.getAccountKey(), active);
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Failed to journal status change.", e);
+                }
+            }
+            activeAccounts.add(active ? 1 : -1);
+        }
 
+        @Override
+        public void withdrawalDeclined(BankAccount account, RejectionReason reason) {
+            metrics.recordRejection(reason);
+        }
 
+    }
+
+    //applies journal records to bank being recovered (journal is not attached yet, so nothing is journaled twice)
+    private static final class JournalReplay implements TransactionJournal.Visitor {
+
+        private final Bank bank;
+
+        JournalReplay(Bank bank) {
+            this.bank = bank;
+        }
+
+        @Override
+        public void opened(int key, String ownerName, boolean savings, boolean active,
+                           long balanceCents, long scaledInterestRate, int minimumBalance) {
+            BankAccount account = savings
+                    ? SavingsAccount.restore(key, ownerName, balanceCents, active, scaledInterestRate, minimumBalance)
+                    : BankAccount.restore(key, ownerName, balanceCents, active);
+            if(!bank.addAccount(account)) {
+                throw new IllegalStateException("Cannot restore account " + account.getAccountNumber()
+                        + ": bank is full or account is duplicated.");
+            }
+        }
+
+        @Override
+        public void balanceChanged(int key, long deltaCents) {
+            existing(key).changeBalanceCents(deltaCents);
+        }
+
+        @Override
+        public void transferred(int sourceKey, int targetKey, long cents) {
+            existing(sourceKey).changeBalanceCents(-cents);
+            existing(targetKey).changeBalanceCents(cents);
+        }
+
+        @Override
+        public void batchApplied(int[] keys, long[] deltasCents) {
+            for(int i = 0; i < keys.length; i++) {
+                existing(keys[i]).changeBalanceCents(deltasCents[i]);
+            }
+        }
+
+        @Override
+        public void closed(int key) {
+            if(bank.removeAccount(AccountNumbers.fromKey(key)) == null) {
+                throw new IllegalStateException("Journal refers to unknown account " + AccountNumbers.fromKey(key) + ".");
+            }
+        }
+
+        @Override
+        public void statusChanged(int key, boolean active) {
+            if(active) {
+                existing(key).activateAccount();
+            } else {
+                existing(key).deactivateAccount();
+            }
+        }
+
+        private BankAccount existing(int key) {
+            BankAccount account = bank.findByKey(key);
+            if(account == null) {
+                throw new IllegalStateException("Journal refers to unknown account " + AccountNumbers.fromKey(key) + ".");
+            }
+            return account;
+        }
+
+    }
+
+}
@@ -1,21 +1,23 @@
 package com.vbforge;
 
+import java.util.Arrays;
 import java.util.Objects;
+import java.util.concurrent.locks.Lock;
 
 public class BankAccount {
 
     private final String accountNumber;     //unique account identifier
+    private final int accountKey;           //numeric part of account number, used as primitive index key
     private final String ownerName;         //account owner's name
-    private double balance;                 //current account balance
-    private boolean isActive;               //account status
+    private volatile long balanceCents;     //current account balance in cents, changed only under account lock
+    private volatile boolean isActive;      //account status
+    private volatile AccountObserver[] observers = NO_OBSERVERS;    //copy-on-write, notified under account lock
+
+    private static final AccountObserver[] NO_OBSERVERS = new AccountObserver[0];
 
     //Constructor with accountNumber, ownerName, and initial balance
     public BankAccount(String accountNumber, String ownerName, double balance) {
-        if(!matchAccountNumberPattern(accountNumber)) {
-            throw new IllegalArgumentException(
-                    "Account number must match pattern ACC-XXXXXX (6 digits)."
-            );
-        }
+        int accountKey = checkedKey(accountNumber);
         if(ownerName == null || ownerName.isBlank()) {
             throw new IllegalArgumentException("Owner name cannot be null or empty.");
         }
@@ -23,37 +25,54 @@ public class BankAccount {
             throw new IllegalArgumentException("Balance cannot be negative.");
         }
         this.accountNumber = accountNumber;
+        this.accountKey = accountKey;
         this.ownerName = ownerName;
-        this.balance = balance;
+        this.balanceCents = Money.toCents(balance);
         this.isActive = true;
     }
 
     //Constructor with accountNumber and ownerName (sets balance to 0.0)
     public BankAccount(String accountNumber, String ownerName){
-        if(!matchAccountNumberPattern(accountNumber)) {
-            throw new IllegalArgumentException(
-                    "Account number must match pattern ACC-XXXXXX (6 digits)."
-            );
-        }
-        if(ownerName == null || ownerName.isBlank()) {
-            throw new IllegalArgumentException("Owner name cannot be null or empty.");
-        }
-        this.accountNumber = accountNumber;
+        this(accountNumber, ownerName, 0.0);
+    }
+
+    //trusted constructor for data validated when it was stored (journal, columnar rows), no checks are repeated
+    BankAccount(int accountKey, String ownerName, long balanceCents, boolean active) {
+        this.accountNumber = AccountNumbers.fromKey(accountKey);
+        this.accountKey = accountKey;
         this.ownerName = ownerName;
-        this.balance = 0.0;
-        this.isActive = true;
+        this.balanceCents = balanceCents;
+        this.isActive = active;
+    }
+
+    //restore(int accountKey, String ownerName, long balanceCents, boolean active) - bulk hydration of already validated account
+    static BankAccount restore(int accountKey, String ownerName, long balanceCents, boolean active) {
+        return new BankAccount(accountKey, ownerName, balanceCents, active);
     }
 
     public String getAccountNumber() {
         return accountNumber;
     }
 
+    int getAccountKey() {
+        return accountKey;
+    }
+
+    //lock() - striped lock guarding this account's balance (reentrant)
+    Lock lock() {
+        return AccountLocks.lockFor(accountKey);
+    }
+
     public String getOwnerName() {
         return ownerName;
     }
 
     public double getBalance() {
-        return balance;
+        return Money.toAmount(balanceCents);
+    }
+
+    public long getBalanceCents() {
+        return balanceCents;
     }
 
     public boolean isActive() {
@@ -62,49 +81,137 @@ public class BankAccount {
 
     //deposit(double amount) - adds money to balance, returns true if successful
     public boolean deposit(double amount) {
-        if(amount <= 0) {
-            throw new IllegalArgumentException("Deposit amount must be positive.");
+        long cents = Money.toCents(amount);
+        if(amount <= 0 || cents <= 0) {
+            throw new TransactionRejectedException(RejectionReason.INVALID_AMOUNT, "Deposit amount must be positive.");
         }
-        this.balance += amount;
+        changeBalanceCents(cents);
         return true;
     }
 
     //withdraw(double amount) - removes money from balance, returns true if sufficient funds
     public boolean withdraw(double amount) {
-        if(amount <= 0) {
-            throw new IllegalArgumentException("Amount must be positive.");
+        long cents = Money.toCents(amount);
+        if(amount <= 0 || cents <= 0) {
+            withdrawalDeclined(RejectionReason.INVALID_AMOUNT);
+            throw new TransactionRejectedException(RejectionReason.INVALID_AMOUNT, "Amount must be positive.");
         }
-        if(amount > this.balance) {
-            throw new IllegalArgumentException("Amount cannot be greater than balance.");
+        Lock lock = lock();
+        lock.lock();
+        try {
+            checkWithdrawal(cents);
+            changeBalance(-cents);
+        } catch (TransactionRejectedException e) {
+            withdrawalDeclined(e.getReason());
+            throw e;
+        } finally {
+            lock.unlock();
         }
-        this.balance -= amount;
         return true;
     }
 
+    //tryWithdraw(double amount) - same as withdraw(), but a decline is returned as status instead of thrown
+    public TransactionStatus tryWithdraw(double amount) {
+        long cents = Money.toCents(amount);
+        if(amount <= 0 || cents <= 0) {
+            withdrawalDeclined(RejectionReason.INVALID_AMOUNT);
+            return TransactionStatus.INVALID_AMOUNT;
+        }
+        Lock lock = lock();
+        lock.lock();
+        try {
+            TransactionStatus status = withdrawalStatus(cents);
+            if(status.isCompleted()) {
+                changeBalance(-cents);
+            } else {
+                withdrawalDeclined(status.getRejectionReason());
+            }
+            return status;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    //checkWithdrawal(long cents) - throws if withdrawing cents would break account rules, called with account lock held
+    void checkWithdrawal(long cents) {
+        switch(withdrawalStatus(cents)) {
+            case COMPLETED -> { }
+            case MINIMUM_BALANCE -> throw new TransactionRejectedException(RejectionReason.MINIMUM_BALANCE,
+                    "Withdrawal would violate minimum balance.");
+            default -> throw new TransactionRejectedException(RejectionReason.INSUFFICIENT_FUNDS,
+                    "Amount cannot be greater than balance.");
+        }
+    }
+
+    //withdrawalStatus(long cents) - COMPLETED if cents can be withdrawn, otherwise reason of decline; account lock held
+    //subclasses add their own limits here, so withdraw(), transfer() and their try* variants enforce the same rules
+    TransactionStatus withdrawalStatus(long cents) {
+        return cents > this.balanceCents ? TransactionStatus.INSUFFICIENT_FUNDS : TransactionStatus.COMPLETED;
+    }
+
     //transfer(BankAccount targetAccount, double amount) - transfers money between accounts
+    //both accounts are locked for the whole transfer, so no thread can see money "in flight"
     public void transfer(BankAccount targetAccount, double amount){
-        validateTransfer(targetAccount, amount);
-
-        /*this.balance -= amount;
-        targetAccount.balance += amount;*/
+        if (targetAccount == null) {
+            throw new IllegalArgumentException("Target account cannot be null.");
+        }
+        AccountLocks.lockBoth(this.accountKey, targetAccount.accountKey);
+        try {
+            long cents = Money.toCents(amount);
+            validateTransfer(targetAccount, cents);
+            checkWithdrawal(cents);     // same rules as withdraw()
+            moveBalance(targetAccount, cents);
+        } finally {
+            AccountLocks.unlockBoth(this.accountKey, targetAccount.accountKey);
+        }
+    }
 
-        this.withdraw(amount);  // Use withdraw() instead of direct balance modification
-        targetAccount.deposit(amount);  // Use deposit() for consistency
+    //tryTransfer(BankAccount targetAccount, double amount) - same as transfer(), but a decline is returned as status
+    //instead of thrown; null target is still a programming error and throws
+    public TransactionStatus tryTransfer(BankAccount targetAccount, double amount) {
+        if (targetAccount == null) {
+            throw new IllegalArgumentException("Target account cannot be null.");
+        }
+        if (this == targetAccount) {
+            return TransactionStatus.SAME_ACCOUNT;
+        }
+        long cents = Money.toCents(amount);
+        if (amount <= 0 || cents <= 0) {
+            return TransactionStatus.INVALID_AMOUNT;
+        }
+        AccountLocks.lockBoth(this.accountKey, targetAccount.accountKey);
+        try {
+            TransactionStatus status = withdrawalStatus(cents);
+            if (status.isCompleted() && targetAccount.balanceCents > Long.MAX_VALUE - cents) {
+                status = TransactionStatus.BALANCE_OVERFLOW;
+            }
+            if (status.isCompleted()) {
+                moveBalance(targetAccount, cents);
+            }
+            return status;
+        } finally {
+            AccountLocks.unlockBoth(this.accountKey, targetAccount.accountKey);
+        }
     }
 
     //deactivateAccount() - sets account as inactive
     public void deactivateAccount() {
-        this.isActive = false;
+        changeStatus(false);
     }
 
     //activateAccount() - sets account as active
     public void activateAccount() {
-        this.isActive = true;
+        changeStatus(true);
     }
 
     //getFormattedBalance() - returns balance formatted as currency string
     public String getFormattedBalance(){
-        return String.format("%.2f", this.balance);
+        return Money.format(this.balanceCents);
+    }
+
+    //appendFormattedBalance(StringBuilder target) - same format as getFormattedBalance(), without allocating a String
+    public StringBuilder appendFormattedBalance(StringBuilder target) {
+        return Money.appendFormatted(this.balanceCents, target);
     }
 
     //Override equals(), hashCode(), and toString() methods
@@ -123,33 +230,164 @@ public class BankAccount {
 
     @Override
     public String toString() {
-        return "BankAccount{" +
-                "accountNumber='" + accountNumber + '\'' +
-                ", ownerName='" + ownerName + '\'' +
-                ", balance=" + balance +
-                ", isActive=" + isActive +
-                '}';
+        return appendTo(new StringBuilder(96)).toString();
     }
 
-    //helper method to match pattern "ACC-XXXXXX" (where X is digit)
-    @SuppressWarnings("BooleanMethodIsAlwaysInverted")                              //for avoid warning from IDE about inverting
-    private boolean matchAccountNumberPattern(String accountNumber){
-        return accountNumber != null && accountNumber.matches("^ACC-\\d{6}$");
+    //appendTo(StringBuilder target) - appends same text as toString(), used by streaming reports
+    StringBuilder appendTo(StringBuilder target) {
+        return target.append("BankAccount{")
+                .append("accountNumber='").append(accountNumber).append('\'')
+                .append(", ownerName='").append(ownerName).append('\'')
+                .append(", balance=").append(getBalance())
+                .append(", isActive=").append(isActive)
+                .append('}');
+    }
+
+    //helper method to check pattern "ACC-XXXXXX" (where X is digit) and return numeric key
+    //char-level check instead of String.matches(), which compiled the regex on every construction
+    private static int checkedKey(String accountNumber){
+        int accountKey = AccountNumbers.toKey(accountNumber);
+        if(accountKey == AccountNumbers.INVALID_KEY) {
+            throw new IllegalArgumentException(
+                    "Account number must match pattern ACC-XXXXXX (6 digits)."
+            );
+        }
+        return accountKey;
     }
 
     //helper method to validate transfer:
-    private void validateTransfer(BankAccount targetAccount, double amount) {
+    private void validateTransfer(BankAccount targetAccount, long cents) {
         if (targetAccount == null) {
             throw new IllegalArgumentException("Target account cannot be null.");
         }
         if (this == targetAccount) {
-            throw new IllegalArgumentException("Cannot transfer to the same account.");
+            throw new TransactionRejectedException(RejectionReason.SAME_ACCOUNT, "Cannot transfer to the same account.");
+        }
+        if (cents <= 0) {
+            throw new TransactionRejectedException(RejectionReason.INVALID_AMOUNT, "Transfer amount must be positive.");
+        }
+        if (cents > this.balanceCents) {
+            throw new TransactionRejectedException(RejectionReason.INSUFFICIENT_FUNDS, "Insufficient funds.");
+        }
+    }
+
+    //helper method to change balance by delta cents under account lock, no business rules applied
+    void changeBalanceCents(long deltaCents) {
+        Lock lock = lock();
+        lock.lock();
+        try {
+            changeBalance(deltaCents);
+        } finally {
+            lock.unlock();
         }
-        if (amount <= 0) {
-            throw new IllegalArgumentException("Transfer amount must be positive.");
+    }
+
+    //attach(AccountObserver observer) - starts notifying observer about changes of this account
+    void attach(AccountObserver observer) {
+        Lock lock = lock();
+        lock.lock();
+        try {
+            AccountObserver[] current = observers;
+            AccountObserver[] updated = Arrays.copyOf(current, current.length + 1);
+            updated[current.length] = observer;
+            observers = updated;
+        } finally {
+            lock.unlock();
         }
-        if (amount > this.balance) {
-            throw new IllegalArgumentException("Insufficient funds.");
+    }
+
+    //detach(AccountObserver observer) - stops notifying observer
+    void detach(AccountObserver observer) {
+        Lock lock = lock();
+        lock.lock();
+        try {
+            AccountObserver[] current = observers;
+            for(int i = 0; i < current.length; i++) {
+                if(current[i] == observer) {
+                    AccountObserver[] updated = new AccountObserver[current.length - 1];
+                    System.arraycopy(current, 0, updated, 0, i);
+                    System.arraycopy(current, i + 1, updated, i, current.length - i - 1);
+                    observers = updated;
+                    return;
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    //must be called with account lock held
+    //observers are notified before the new balance is stored (write-ahead), so a failing journal write leaves it unchanged
+    private void changeBalance(long deltaCents) {
+        long updated = Math.addExact(this.balanceCents, deltaCents);
+        for(AccountObserver observer : observers) {
+            observer.balanceChanged(this, deltaCents);
+        }
+        this.balanceCents = updated;
+    }
+
+    //applyBatchDelta(long deltaCents, AccountObserver recorder) - stores delta already validated and recorded by batch owner,
+    //other observers are notified as for a plain balance change; must be called with account lock held
+    void applyBatchDelta(long deltaCents, AccountObserver recorder) {
+        long updated = Math.addExact(this.balanceCents, deltaCents);
+        for(AccountObserver observer : observers) {
+            if(observer != recorder) {
+                observer.balanceChanged(this, deltaCents);
+            }
+        }
+        this.balanceCents = updated;
+    }
+
+    //must be called with locks of both accounts held
+    //observers watching both accounts get one transferred() call, so the transfer is recorded as a single unit
+    private void moveBalance(BankAccount target, long cents) {
+        long updatedSource = Math.subtractExact(this.balanceCents, cents);
+        long updatedTarget = Math.addExact(target.balanceCents, cents);
+        for(AccountObserver observer : observers) {
+            if(target.isObservedBy(observer)) {
+                observer.transferred(this, target, cents);
+            } else {
+                observer.balanceChanged(this, -cents);
+            }
+        }
+        for(AccountObserver observer : target.observers) {
+            if(!isObservedBy(observer)) {
+                observer.balanceChanged(target, cents);
+            }
+        }
+        this.balanceCents = updatedSource;
+        target.balanceCents = updatedTarget;
+    }
+
+    private boolean isObservedBy(AccountObserver observer) {
+        for(AccountObserver current : observers) {
+            if(current == observer) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    //withdrawalDeclined(RejectionReason reason) - tells observers that withdrawal was declined for reason
+    void withdrawalDeclined(RejectionReason reason) {
+        for(AccountObserver observer : observers) {
+            observer.withdrawalDeclined(this, reason);
+        }
+    }
+
+    private void changeStatus(boolean active) {
+        Lock lock = lock();
+        lock.lock();
+        try {
+            if(this.isActive == active) {
+                return;
+            }
+            for(AccountObserver observer : observers) {
+                observer.statusChanged(this, active);
+            }
+            this.isActive = active;
+        } finally {
+            lock.unlock();
         }
     }
 
@@ -0,0 +1,121 @@
+package com.vbforge;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+//operation latencies and rejection counts of one Bank, enabled with Bank.enableMetrics()
+//when metrics are off the bank uses DISABLED, whose methods return right away without reading the clock
+public final class BankMetrics {
+
+    //measured bank operations
+    public enum Operation {
+        FIND_ACCOUNT,
+        ADD_ACCOUNT,
+        REMOVE_ACCOUNT,
+        TRANSFER,
+        TRANSFER_BATCH,
+        MONTHLY_INTEREST,
+        ACCOUNT_REPORT
+    }
+
+    private static final Operation[] OPERATIONS = Operation.values();
+    private static final RejectionReason[] REASONS = RejectionReason.values();
+
+    static final BankMetrics DISABLED = new BankMetrics(false);
+
+    private final boolean enabled;
+    private final LatencyHistogram[] latencies;             //by operation ordinal
+    private final LongAdder[] rejections;                   //by reason ordinal
+
+    private BankMetrics(boolean enabled) {
+        this.enabled = enabled;
+        this.latencies = new LatencyHistogram[enabled ? OPERATIONS.length : 0];
+        this.rejections = new LongAdder[enabled ? REASONS.length : 0];
+        for(int i = 0; i < latencies.length; i++) {
+            latencies[i] = new LatencyHistogram();
+        }
+        for(int i = 0; i < rejections.length; i++) {
+            rejections[i] = new LongAdder();
+        }
+    }
+
+    static BankMetrics create() {
+        return new BankMetrics(true);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    //start() - start time of measured operation, 0 when metrics are off
+    long start() {
+        return enabled ? System.nanoTime() : 0;
+    }
+
+    //record(Operation operation, long start) - records latency of operation started at start()
+    void record(Operation operation, long start) {
+        if(enabled) {
+            latencies[operation.ordinal()].record(System.nanoTime() - start);
+        }
+    }
+
+    void recordRejection(RejectionReason reason) {
+        if(enabled) {
+            rejections[reason.ordinal()].increment();
+        }
+    }
+
+    //snapshot() - copy of current values for scraping, all zero when metrics are off
+    public Snapshot snapshot() {
+        Map<Operation, long[]> counts = new EnumMap<>(Operation.class);
+        Map<RejectionReason, Long> rejected = new EnumMap<>(RejectionReason.class);
+        for(Operation operation : OPERATIONS) {
+            counts.put(operation, enabled ? latencies[operation.ordinal()].copyCounts() : new long[0]);
+        }
+        for(RejectionReason reason : REASONS) {
+            rejected.put(reason, enabled ? rejections[reason.ordinal()].sum() : 0L);
+        }
+        return new Snapshot(counts, rejected);
+    }
+
+    //point-in-time values of BankMetrics
+    public static final class Snapshot {
+
+        private final Map<Operation, long[]> counts;
+        private final Map<RejectionReason, Long> rejections;
+
+        private Snapshot(Map<Operation, long[]> counts, Map<RejectionReason, Long> rejections) {
+            this.counts = counts;
+            this.rejections = rejections;
+        }
+
+        //count(Operation operation) - number of completed (or failed) calls of operation
+        public long count(Operation operation) {
+            long total = 0;
+            for(long count : counts.get(operation)) {
+                total += count;
+            }
+            return total;
+        }
+
+        //percentileNanos(Operation operation, double percentile) - latency percentile, e.g. 99.0, within ~6%
+        public long percentileNanos(Operation operation, double percentile) {
+            if(percentile < 0 || percentile > 100) {
+                throw new IllegalArgumentException("Percentile must be between 0 and 100.");
+            }
+            return LatencyHistogram.valueAtPercentile(counts.get(operation), percentile);
+        }
+
+        //maxNanos(Operation operation) - longest latency, within ~6%
+        public long maxNanos(Operation operation) {
+            return LatencyHistogram.maxOf(counts.get(operation));
+        }
+
+        public long rejections(RejectionReason reason) {
+            return rejections.get(reason);
+        }
+
+    }
+
+}
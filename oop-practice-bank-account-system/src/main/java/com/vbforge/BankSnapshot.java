@@ -0,0 +1,252 @@
+package com.vbforge;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+//versioned binary snapshot of bank accounts
+//
+//file layout: header, then one fixed-width record per account sorted by account key, then names region
+//(UTF-8 owner names, every distinct name stored once); fixed-width sorted records let the mapped view
+//find account N or account with given key without reading the rest of the file
+public final class BankSnapshot {
+
+    static final int MAGIC = 0x42534E50;                    //"BSNP"
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 32;                      //magic, version, count, record size, names offset, names length
+    static final int RECORD_SIZE = 40;
+
+    //record field offsets
+    private static final int KEY = 0;
+    private static final int FLAGS = 4;
+    private static final int BALANCE = 8;
+    private static final int RATE = 16;
+    private static final int MINIMUM = 24;
+    private static final int NAME_OFFSET = 28;
+    private static final int NAME_LENGTH = 32;             //36..39 reserved
+
+    private static final byte FLAG_SAVINGS = 1;
+    private static final byte FLAG_ACTIVE = 2;
+
+    private static final int CHUNK_RECORDS = 8192;          //records per buffered read/write
+
+    private final MappedByteBuffer mapped;                  //whole file, read only
+    private final int size;
+    private final int namesOffset;
+
+    private BankSnapshot(MappedByteBuffer mapped, int size, int namesOffset) {
+        this.mapped = mapped;
+        this.size = size;
+        this.namesOffset = namesOffset;
+    }
+
+    //map(Path file) - opens snapshot as read-only memory-mapped view, accounts are built only when asked for
+    public static BankSnapshot map(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if(channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Snapshot is too large to map.");
+            }
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            ByteBuffer header = mapped.duplicate().limit(HEADER_SIZE);
+            int size = readHeader(header, channel.size());
+            return new BankSnapshot(mapped, size, (int) header.getLong(16));
+        }
+    }
+
+    //size() - number of accounts in snapshot
+    public int size() {
+        return size;
+    }
+
+    //getAccount(int position) - builds account stored at position (accounts are ordered by account number)
+    public BankAccount getAccount(int position) {
+        if(position < 0 || position >= size) {
+            throw new IndexOutOfBoundsException("Position " + position + " is out of snapshot range.");
+        }
+        int record = HEADER_SIZE + position * RECORD_SIZE;
+        return materialize(mapped, record, null, namesOffset);
+    }
+
+    //findAccount(String accountNumber) - binary search over records, returns account or null
+    public BankAccount findAccount(String accountNumber) {
+        if(accountNumber == null) {
+            throw new IllegalArgumentException("Account number cannot be null.");
+        }
+        int key = AccountNumbers.toKey(accountNumber);
+        int low = 0;
+        int high = size - 1;
+        while(key != AccountNumbers.INVALID_KEY && low <= high) {
+            int middle = (low + high) >>> 1;
+            int middleKey = mapped.getInt(HEADER_SIZE + middle * RECORD_SIZE + KEY);
+            if(middleKey < key) {
+                low = middle + 1;
+            } else if(middleKey > key) {
+                high = middle - 1;
+            } else {
+                return getAccount(middle);
+            }
+        }
+        return null;
+    }
+
+    //write(Path file, AccountStates states) - writes snapshot of copied account states, no account lock is needed
+    static void write(Path file, AccountStates states) throws IOException {
+        long[] order = new long[states.count];             //key in high half, row in low half: sorts rows by key
+        for(int i = 0; i < states.count; i++) {
+            order[i] = (long) states.keys[i] << 32 | i;
+        }
+        Arrays.sort(order);
+
+        Map<String, Integer> nameOffsets = new HashMap<>();
+        ByteBuffer names = ByteBuffer.allocate(1 << 16);
+        ByteBuffer records = ByteBuffer.allocateDirect(CHUNK_RECORDS * RECORD_SIZE);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            channel.position(HEADER_SIZE);
+            for(long entry : order) {
+                int row = (int) entry;
+                String ownerName = states.ownerNames[row];
+                byte[] name = ownerName.getBytes(StandardCharsets.UTF_8);
+                Integer nameOffset = nameOffsets.get(ownerName);
+                if(nameOffset == null) {
+                    if(names.remaining() < name.length) {
+                        names = grow(names, name.length);
+                    }
+                    nameOffset = names.position();
+                    names.put(name);
+                    nameOffsets.put(ownerName, nameOffset);
+                }
+                putRecord(records, states, row, nameOffset, name.length);
+                if(!records.hasRemaining()) {
+                    writeFully(channel, records.flip());
+                    records.clear();
+                }
+            }
+            writeFully(channel, records.flip());
+            long namesOffset = channel.position();
+            writeFully(channel, names.flip());
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            header.putInt(MAGIC).putInt(VERSION).putInt(states.count).putInt(RECORD_SIZE)
+                    .putLong(namesOffset).putLong(names.limit());
+            channel.position(0);
+            writeFully(channel, header.flip());
+            channel.force(true);
+        }
+    }
+
+    //read(Path file, Consumer<BankAccount> target) - reads whole snapshot with buffered channel reads,
+    //accounts sharing owner also share owner name String
+    static void read(Path file, Consumer<BankAccount> target) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            readFully(channel, header, 0);
+            int size = readHeader(header.flip(), channel.size());
+            long namesOffset = header.getLong(16);
+            ByteBuffer names = ByteBuffer.allocate((int) header.getLong(24));
+            readFully(channel, names, namesOffset);
+
+            Map<Integer, String> decoded = new HashMap<>();
+            ByteBuffer records = ByteBuffer.allocateDirect(CHUNK_RECORDS * RECORD_SIZE);
+            long position = HEADER_SIZE;
+            for(int done = 0; done < size; ) {
+                int chunk = Math.min(CHUNK_RECORDS, size - done);
+                records.clear().limit(chunk * RECORD_SIZE);
+                readFully(channel, records, position);
+                for(int i = 0; i < chunk; i++) {
+                    int record = i * RECORD_SIZE;
+                    String ownerName = decoded.computeIfAbsent(records.getInt(record + NAME_OFFSET),
+                            offset -> new String(names.array(), offset, records.getInt(record + NAME_LENGTH),
+                                    StandardCharsets.UTF_8));
+                    target.accept(materialize(records, record, ownerName, 0));
+                }
+                position += (long) chunk * RECORD_SIZE;
+                done += chunk;
+            }
+        }
+    }
+
+    //helper method to build account from record at absolute position, decodes owner name if it is not given
+    private static BankAccount materialize(ByteBuffer buffer, int record, String ownerName, int namesOffset) {
+        if(ownerName == null) {
+            byte[] name = new byte[buffer.getInt(record + NAME_LENGTH)];
+            buffer.get(namesOffset + buffer.getInt(record + NAME_OFFSET), name);
+            ownerName = new String(name, StandardCharsets.UTF_8);
+        }
+        int key = buffer.getInt(record + KEY);
+        byte flags = buffer.get(record + FLAGS);
+        boolean active = (flags & FLAG_ACTIVE) != 0;
+        long balanceCents = buffer.getLong(record + BALANCE);
+        if((flags & FLAG_SAVINGS) != 0) {
+            return SavingsAccount.restore(key, ownerName, balanceCents, active,
+                    buffer.getLong(record + RATE), buffer.getInt(record + MINIMUM));
+        }
+        return BankAccount.restore(key, ownerName, balanceCents, active);
+    }
+
+    private static void putRecord(ByteBuffer records, AccountStates states, int row, int nameOffset, int nameLength) {
+        byte flags = states.active[row] ? FLAG_ACTIVE : 0;
+        if(states.savings[row]) {
+            flags |= FLAG_SAVINGS;
+        }
+        records.putInt(states.keys[row])
+                .put(flags).put((byte) 0).putShort((short) 0)
+                .putLong(states.balancesCents[row])
+                .putLong(states.scaledInterestRates[row])
+                .putInt(states.minimumBalances[row])
+                .putInt(nameOffset)
+                .putInt(nameLength)
+                .putInt(0);
+    }
+
+    //helper method to check header and return number of records
+    private static int readHeader(ByteBuffer header, long fileSize) throws IOException {
+        if(header.remaining() < HEADER_SIZE) {
+            throw new IOException("Snapshot header is incomplete.");
+        }
+        if(header.getInt(0) != MAGIC) {
+            throw new IOException("Not a bank snapshot file.");
+        }
+        int version = header.getInt(4);
+        if(version != VERSION) {
+            throw new IOException("Unsupported snapshot version " + version + ".");
+        }
+        int size = header.getInt(8);
+        long namesOffset = header.getLong(16);
+        if(size < 0 || header.getInt(12) != RECORD_SIZE || namesOffset != HEADER_SIZE + (long) size * RECORD_SIZE
+                || namesOffset + header.getLong(24) > fileSize) {
+            throw new IOException("Corrupted snapshot: header does not match file.");
+        }
+        return size;
+    }
+
+    private static ByteBuffer grow(ByteBuffer buffer, int needed) {
+        ByteBuffer grown = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, buffer.position() + needed));
+        return grown.put(buffer.flip());
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while(buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while(buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if(read < 0) {
+                throw new IOException("Snapshot file is truncated.");
+            }
+            position += read;
+        }
+    }
+
+}
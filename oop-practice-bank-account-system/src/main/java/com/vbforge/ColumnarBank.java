@@ -0,0 +1,393 @@
+package com.vbforge;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+//alternative Bank storage: one primitive array per account field (struct-of-arrays) instead of one object per account
+//bulk aggregates and interest runs become sequential loops over primitive arrays, which suits caches and the JIT
+//accounts are copied in on addAccount and the bank owns their state from then on,
+//so all changes go through account-number based methods of this class
+//thread-safe: every operation takes the read or write side of one read-write lock
+//declined money movements throw TransactionRejectedException carrying the same RejectionReason as Bank would
+public class ColumnarBank {
+
+    static final byte CHECKING = 0;                         //account kinds stored in kinds column
+    static final byte SAVINGS = 1;
+
+    //accrued interest is kept in units of 1/DAILY_ACCRUAL_DIVISOR cent, so one day of interest (balance * rate / divisor)
+    //is added without rounding; only whole cents are posted, the remainder stays accrued
+    static final long DAILY_ACCRUAL_DIVISOR = 100 * 365 * SavingsAccount.RATE_SCALE;
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final int capacity;                             //maximum number of accounts
+    private int size;                                       //number of stored accounts
+    private final AccountIndex index;                       //account key -> row
+
+    private int[] keys;                                     //numeric part of account number
+    private String[] ownerNames;
+    private long[] balances;                                //balance in cents
+    private byte[] active;                                  //1 = active, 0 = inactive (byte so it can be summed)
+    private byte[] kinds;                                   //CHECKING or SAVINGS
+    private long[] interestRates;                           //scaled annual rate, 0 for checking accounts
+    private long[] minimumBalances;                         //minimum balance in cents, 0 for checking accounts
+    private long[] accruedInterest;                         //interest accrued but not yet posted, see DAILY_ACCRUAL_DIVISOR
+
+    //upper bounds of the columns above (balances, rates and accrued interest are never negative), raised on every
+    //credit and never lowered on debits, so bulk passes can rule out overflow up front instead of per row
+    private long balanceBound;
+    private long rateBound;
+    private long accruedBound;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public ColumnarBank(int capacity) {
+        if(capacity <= 0) {
+            throw new IllegalArgumentException("Bank capacity must be greater than 0.");
+        }
+        this.capacity = capacity;
+        this.index = new AccountIndex(Math.min(capacity, INITIAL_CAPACITY));
+        allocate(Math.min(capacity, INITIAL_CAPACITY));
+    }
+
+    //addAccount(BankAccount account) - copies account state into columns, no duplicates allowed
+    public boolean addAccount(BankAccount account) {
+        if(account == null) {
+            throw new IllegalArgumentException("Bank account must not be null.");
+        }
+        lock.writeLock().lock();
+        try {
+            if(size == capacity) {
+                return false; //bank is full
+            }
+            if(index.get(account.getAccountKey()) >= 0) {
+                return false; //no duplicates
+            }
+            if(size == keys.length) {
+                allocate((int) Math.min(capacity, keys.length * 2L));
+            }
+            int row = size++;
+            keys[row] = account.getAccountKey();
+            ownerNames[row] = account.getOwnerName();
+            balances[row] = account.getBalanceCents();
+            balanceBound = Math.max(balanceBound, balances[row]);
+            active[row] = (byte) (account.isActive() ? 1 : 0);
+            if(account instanceof SavingsAccount savings) {
+                kinds[row] = SAVINGS;
+                interestRates[row] = savings.getScaledInterestRate();
+                rateBound = Math.max(rateBound, interestRates[row]);
+                minimumBalances[row] = (long) savings.getMinimumBalance() * Money.CENTS_PER_UNIT;
+            } else {
+                kinds[row] = CHECKING;
+                interestRates[row] = 0;
+                minimumBalances[row] = 0;
+            }
+            index.put(account.getAccountKey(), row);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean containsAccount(String accountNumber) {
+        lock.readLock().lock();
+        try {
+            return rowOf(accountNumber) >= 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    //getAccount(String accountNumber) - returns detached copy of account or null, changes to the copy are not stored
+    public BankAccount getAccount(String accountNumber) {
+        lock.readLock().lock();
+        try {
+            int row = rowOf(accountNumber);
+            return row < 0 ? null : materialize(row);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public double getBalance(String accountNumber) {
+        lock.readLock().lock();
+        try {
+            return Money.toAmount(balances[existingRow(accountNumber)]);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    //deposit(String accountNumber, double amount) - same rules as BankAccount.deposit
+    public boolean deposit(String accountNumber, double amount) {
+        long cents = Money.toCents(amount);
+        if(amount <= 0 || cents <= 0) {
+            throw new TransactionRejectedException(RejectionReason.INVALID_AMOUNT, "Deposit amount must be positive.");
+        }
+        lock.writeLock().lock();
+        try {
+            int row = existingRow(accountNumber);
+            balances[row] = Math.addExact(balances[row], cents);
+            balanceBound = Math.max(balanceBound, balances[row]);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    //withdraw(String accountNumber, double amount) - same rules as BankAccount/SavingsAccount.withdraw
+    public boolean withdraw(String accountNumber, double amount) {
+        long cents = Money.toCents(amount);
+        if(amount <= 0 || cents <= 0) {
+            throw new TransactionRejectedException(RejectionReason.INVALID_AMOUNT, "Amount must be positive.");
+        }
+        lock.writeLock().lock();
+        try {
+            int row = existingRow(accountNumber);
+            checkWithdrawal(row, cents);
+            balances[row] -= cents;
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    //transfer(String fromAccountNumber, String toAccountNumber, double amount) - same rules as BankAccount.transfer
+    public void transfer(String fromAccountNumber, String toAccountNumber, double amount) {
+        lock.writeLock().lock();
+        try {
+            int source = existingRow(fromAccountNumber);
+            int target = existingRow(toAccountNumber);
+            if(source == target) {
+                throw new TransactionRejectedException(RejectionReason.SAME_ACCOUNT, "Cannot transfer to the same account.");
+            }
+            long cents = Money.toCents(amount);
+            if(amount <= 0 || cents <= 0) {
+                throw new TransactionRejectedException(RejectionReason.INVALID_AMOUNT, "Transfer amount must be positive.");
+            }
+            if(cents > balances[source]) {
+                throw new TransactionRejectedException(RejectionReason.INSUFFICIENT_FUNDS, "Insufficient funds.");
+            }
+            checkWithdrawal(source, cents);
+            balances[source] -= cents;
+            balances[target] = Math.addExact(balances[target], cents);
+            balanceBound = Math.max(balanceBound, balances[target]);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void activateAccount(String accountNumber) {
+        setActive(accountNumber, true);
+    }
+
+    public void deactivateAccount(String accountNumber) {
+        setActive(accountNumber, false);
+    }
+
+    //getTotalBankBalance() - returns sum of all account balances
+    public double getTotalBankBalance() {
+        return Money.toAmount(getTotalBankBalanceCents());
+    }
+
+    public long getTotalBankBalanceCents() {
+        lock.readLock().lock();
+        try {
+            long[] balances = this.balances;
+            long total = 0;
+            for(int i = 0; i < size; i++) {
+                total += balances[i];
+            }
+            return total;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    //getActiveAccountsCount() - returns number of active accounts, branch-free sum over active column
+    public int getActiveAccountsCount() {
+        lock.readLock().lock();
+        try {
+            byte[] active = this.active;
+            int count = 0;
+            for(int i = 0; i < size; i++) {
+                count += active[i];
+            }
+            return count;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    //processMonthlyInterest() - applies interest to all savings accounts
+    //checking accounts have rate 0 and earn 0, so the loop needs no per-row kind check
+    //balances are updated in place; overflow is ruled out before the pass (see checkMonthlyInterest),
+    //so a balance too large for long cents (ArithmeticException) leaves all balances unchanged
+    public void processMonthlyInterest() {
+        lock.writeLock().lock();
+        try {
+            long bound = checkMonthlyInterest();
+            long[] balances = this.balances;
+            long[] interestRates = this.interestRates;
+            for(int i = 0; i < size; i++) {
+                balances[i] += Money.divideHalfEven(balances[i] * interestRates[i], SavingsAccount.MONTHLY_DIVISOR);
+            }
+            balanceBound = bound;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    //getAccruedInterestCents(String accountNumber) - whole cents of interest accrued but not yet posted
+    public long getAccruedInterestCents(String accountNumber) {
+        lock.readLock().lock();
+        try {
+            return accruedInterest[existingRow(accountNumber)] / DAILY_ACCRUAL_DIVISOR;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    //accrueDailyInterest() - adds one day of interest on current balance to accrued interest of every account
+    //single multiply-add in place over primitive columns, no branches and no division, so the JIT can unroll and vectorize it;
+    //overflow is ruled out before the pass (see checkAccrual), so an overflowing row (ArithmeticException) changes nothing
+    void accrueDailyInterest() {
+        lock.writeLock().lock();
+        try {
+            long bound = checkAccrual();
+            long[] balances = this.balances;
+            long[] interestRates = this.interestRates;
+            long[] accruedInterest = this.accruedInterest;
+            for(int i = 0; i < size; i++) {
+                accruedInterest[i] += balances[i] * interestRates[i];
+            }
+            accruedBound = bound;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    //postAccruedInterest() - moves whole accrued cents to balances, returns total posted cents
+    //a balance that would overflow throws ArithmeticException before its row changes, rows before it stay posted
+    long postAccruedInterest() {
+        lock.writeLock().lock();
+        try {
+            long posted = 0;
+            for(int i = 0; i < size; i++) {
+                long cents = accruedInterest[i] / DAILY_ACCRUAL_DIVISOR;
+                if(cents != 0) {
+                    balances[i] = Math.addExact(balances[i], cents);
+                    accruedInterest[i] -= cents * DAILY_ACCRUAL_DIVISOR;
+                    balanceBound = Math.max(balanceBound, balances[i]);
+                    posted += cents;
+                }
+            }
+            accruedBound = DAILY_ACCRUAL_DIVISOR - 1;              //only fractions of a cent stay accrued
+            return posted;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    //helper method to throw ArithmeticException if one day of accrual overflows some row, returns bound of accrued
+    //interest after the accrual; O(1) from column bounds, rows are checked one by one only when bounds are near the limit
+    private long checkAccrual() {
+        try {
+            return Math.addExact(accruedBound, Math.multiplyExact(balanceBound, rateBound));
+        } catch (ArithmeticException e) {
+            long balanceMax = 0;
+            long accruedMax = 0;
+            for(int i = 0; i < size; i++) {
+                balanceMax = Math.max(balanceMax, balances[i]);
+                accruedMax = Math.max(accruedMax,
+                        Math.addExact(accruedInterest[i], Math.multiplyExact(balances[i], interestRates[i])));
+            }
+            balanceBound = balanceMax;                      //exact again, keeps following checks O(1) while possible
+            return accruedMax;
+        }
+    }
+
+    //helper method to throw ArithmeticException if one month of interest overflows some row, returns bound of balances
+    //after it (rounding adds at most one cent); O(1) from column bounds, rows are checked one by one only near the limit
+    private long checkMonthlyInterest() {
+        try {
+            return Math.addExact(balanceBound,
+                    Math.multiplyExact(balanceBound, rateBound) / SavingsAccount.MONTHLY_DIVISOR + 1);
+        } catch (ArithmeticException e) {
+            long updatedMax = 0;
+            for(int i = 0; i < size; i++) {
+                updatedMax = Math.max(updatedMax,
+                        Math.addExact(balances[i], SavingsAccount.monthlyInterestCents(balances[i], interestRates[i])));
+            }
+            return updatedMax;                              //exact, keeps following checks O(1) while possible
+        }
+    }
+
+    //helper method to apply withdrawal limits for row (balance, and minimum balance for savings)
+    private void checkWithdrawal(int row, long cents) {
+        if(kinds[row] == SAVINGS && balances[row] - cents < minimumBalances[row]) {
+            throw new TransactionRejectedException(RejectionReason.MINIMUM_BALANCE, "Withdrawal would violate minimum balance.");
+        }
+        if(cents > balances[row]) {
+            throw new TransactionRejectedException(RejectionReason.INSUFFICIENT_FUNDS, "Amount cannot be greater than balance.");
+        }
+    }
+
+    private void setActive(String accountNumber, boolean isActive) {
+        lock.writeLock().lock();
+        try {
+            active[existingRow(accountNumber)] = (byte) (isActive ? 1 : 0);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private int rowOf(String accountNumber) {
+        if(accountNumber == null) {
+            throw new IllegalArgumentException("Account number cannot be null.");
+        }
+        int key = AccountNumbers.toKey(accountNumber);
+        return key == AccountNumbers.INVALID_KEY ? -1 : index.get(key);
+    }
+
+    private int existingRow(String accountNumber) {
+        int row = rowOf(accountNumber);
+        if(row < 0) {
+            throw new TransactionRejectedException(RejectionReason.ACCOUNT_NOT_FOUND, "Account not found: " + accountNumber);
+        }
+        return row;
+    }
+
+    //helper method to build account object from row
+    private BankAccount materialize(int row) {
+        boolean isActive = active[row] != 0;
+        if(kinds[row] == SAVINGS) {
+            return SavingsAccount.restore(keys[row], ownerNames[row], balances[row], isActive,
+                    interestRates[row], (int) (minimumBalances[row] / Money.CENTS_PER_UNIT));
+        }
+        return BankAccount.restore(keys[row], ownerNames[row], balances[row], isActive);
+    }
+
+    //helper method to (re)allocate all columns with new length, keeping stored rows
+    private void allocate(int length) {
+        keys = keys == null ? new int[length] : Arrays.copyOf(keys, length);
+        ownerNames = ownerNames == null ? new String[length] : Arrays.copyOf(ownerNames, length);
+        balances = balances == null ? new long[length] : Arrays.copyOf(balances, length);
+        active = active == null ? new byte[length] : Arrays.copyOf(active, length);
+        kinds = kinds == null ? new byte[length] : Arrays.copyOf(kinds, length);
+        interestRates = interestRates == null ? new long[length] : Arrays.copyOf(interestRates, length);
+        minimumBalances = minimumBalances == null ? new long[length] : Arrays.copyOf(minimumBalances, length);
+        accruedInterest = accruedInterest == null ? new long[length] : Arrays.copyOf(accruedInterest, length);
+    }
+
+}
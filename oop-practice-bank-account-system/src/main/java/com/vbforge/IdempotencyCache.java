@@ -0,0 +1,151 @@
+package com.vbforge;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+//bounded key -> value cache for idempotency keys: entries expire after ttl and at most maxEntries are kept,
+//so memory stays bounded under any request rate
+//an unexpired entry is never evicted (a forgotten idempotency key would let a retry run twice): when maxEntries
+//unexpired entries are stored, new keys are refused until the oldest ones expire
+//lookups and inserts are lock-free (ConcurrentHashMap), eviction of expired entries runs in insertion order (FIFO queue)
+//on whichever inserting thread gets the eviction lock, other threads don't wait for it unless the cache is full
+final class IdempotencyCache<V> {
+
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final LongSupplier clock;                       //nanoTime, replaceable in tests
+
+    private final Map<String, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final Queue<Node<V>> insertionOrder = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+
+    IdempotencyCache(int maxEntries, long ttl, TimeUnit unit) {
+        this(maxEntries, ttl, unit, System::nanoTime);
+    }
+
+    IdempotencyCache(int maxEntries, long ttl, TimeUnit unit, LongSupplier clock) {
+        if(maxEntries <= 0) {
+            throw new IllegalArgumentException("Cache size must be greater than 0.");
+        }
+        if(ttl <= 0) {
+            throw new IllegalArgumentException("Cache time-to-live must be positive.");
+        }
+        this.maxEntries = maxEntries;
+        this.ttlNanos = unit.toNanos(ttl);
+        this.clock = clock;
+    }
+
+    //putIfAbsent(String key, V value) - stores value and returns null if key is new (or expired),
+    //otherwise returns value already stored for key
+    //throws IllegalStateException if key is new and maxEntries unexpired entries are stored, value is not stored then
+    V putIfAbsent(String key, V value) {
+        long now = clock.getAsLong();
+        Entry<V> created = new Entry<>(value, now);
+        while(true) {
+            Entry<V> existing = entries.get(key);
+            if(existing != null && !isExpired(existing, now)) {
+                return existing.value;                  //answered even when cache is full
+            }
+            reserve(now);                               //slot is taken before key becomes visible to other threads
+            existing = entries.putIfAbsent(key, created);
+            if(existing == null) {
+                insertionOrder.add(new Node<>(key, created));
+                evict(now);
+                return null;
+            }
+            size.decrementAndGet();                     //slot not used
+            if(!isExpired(existing, now)) {
+                return existing.value;
+            }
+            if(entries.remove(key, existing)) {         //expired but not evicted yet, replace it
+                size.decrementAndGet();
+            }
+        }
+    }
+
+    //get(String key) - returns value stored for key or null if it is absent or expired
+    V get(String key) {
+        Entry<V> entry = entries.get(key);
+        return entry == null || isExpired(entry, clock.getAsLong()) ? null : entry.value;
+    }
+
+    int size() {
+        return size.get();
+    }
+
+    //helper method to take one slot for a new entry, drops expired entries first if all slots are taken
+    private void reserve(long now) {
+        if(size.incrementAndGet() <= maxEntries) {
+            return;
+        }
+        evictionLock.lock();
+        try {
+            dropExpired(now);
+        } finally {
+            evictionLock.unlock();
+        }
+        if(size.get() > maxEntries) {
+            size.decrementAndGet();
+            throw new IllegalStateException("Cache is full of unexpired entries.");
+        }
+    }
+
+    //helper method to drop expired entries, skipped if another thread is evicting
+    private void evict(long now) {
+        if(!evictionLock.tryLock()) {
+            return;
+        }
+        try {
+            dropExpired(now);
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    //helper method to drop expired and replaced entries from the oldest end, caller holds eviction lock
+    private void dropExpired(long now) {
+        Node<V> oldest;
+        while((oldest = insertionOrder.peek()) != null
+                && (isExpired(oldest.entry, now) || entries.get(oldest.key) != oldest.entry)) {
+            insertionOrder.poll();
+            if(entries.remove(oldest.key, oldest.entry)) {
+                size.decrementAndGet();
+            }
+        }
+    }
+
+    private boolean isExpired(Entry<V> entry, long now) {
+        return now - entry.createdNanos >= ttlNanos;
+    }
+
+    //compared by identity, so a replaced entry is never removed by eviction of its predecessor
+    private static final class Entry<V> {
+
+        private final V value;
+        private final long createdNanos;
+
+        Entry(V value, long createdNanos) {
+            this.value = value;
+            this.createdNanos = createdNanos;
+        }
+    }
+
+    private static final class Node<V> {
+
+        private final String key;
+        private final Entry<V> entry;
+
+        Node(String key, Entry<V> entry) {
+            this.key = key;
+            this.entry = entry;
+        }
+    }
+
+}
@@ -0,0 +1,87 @@
+package com.vbforge;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+//daily interest accrual for ColumnarBank: every tick accrues one day of interest on current balances,
+//accrued interest is posted to balances every postingIntervalDays ticks
+//posting daily gives daily compounding, posting every 30 days gives daily accrual with monthly compounding
+//
+//accrued interest of one account must fit in a long for one posting interval (balance * rate * days),
+//which holds for balances up to about 10^12 cents with the maximum rate and interval;
+//a tick that would overflow throws ArithmeticException and leaves accrued interest and day count unchanged
+public class InterestAccrualEngine {
+
+    static final int MAX_POSTING_INTERVAL_DAYS = 31;
+
+    private final ColumnarBank bank;
+    private final int postingIntervalDays;
+    private int daysAccrued;                                //ticks since engine was created, guarded by this
+    private final AtomicLong failedTicks = new AtomicLong(); //scheduled ticks that threw, see schedule()
+    private volatile RuntimeException lastFailure;          //exception of last failed scheduled tick, null if none
+
+    public InterestAccrualEngine(ColumnarBank bank, int postingIntervalDays) {
+        if(bank == null) {
+            throw new IllegalArgumentException("Bank must not be null.");
+        }
+        if(postingIntervalDays < 1 || postingIntervalDays > MAX_POSTING_INTERVAL_DAYS) {
+            throw new IllegalArgumentException(
+                    "Posting interval must be between 1 and " + MAX_POSTING_INTERVAL_DAYS + " days.");
+        }
+        this.bank = bank;
+        this.postingIntervalDays = postingIntervalDays;
+    }
+
+    public int getPostingIntervalDays() {
+        return postingIntervalDays;
+    }
+
+    public synchronized int getDaysAccrued() {
+        return daysAccrued;
+    }
+
+    //accrueDay() - daily tick: accrues one day of interest and posts it when posting day is reached,
+    //returns posted cents (0 on days without posting)
+    public synchronized long accrueDay() {
+        bank.accrueDailyInterest();
+        daysAccrued++;
+        return daysAccrued % postingIntervalDays == 0 ? bank.postAccruedInterest() : 0;
+    }
+
+    //post() - posts accrued whole cents now, e.g. when accounts are closed out before posting day
+    public synchronized long post() {
+        return bank.postAccruedInterest();
+    }
+
+    //schedule(ScheduledExecutorService scheduler, long period, TimeUnit unit) - runs accrueDay() every period
+    //a failing tick (e.g. ArithmeticException on overflow) is counted and kept as last failure instead of thrown,
+    //because an exception thrown from a scheduleAtFixedRate task silently cancels all later ticks
+    public ScheduledFuture<?> schedule(ScheduledExecutorService scheduler, long period, TimeUnit unit) {
+        if(scheduler == null) {
+            throw new IllegalArgumentException("Scheduler must not be null.");
+        }
+        return scheduler.scheduleAtFixedRate(this::scheduledTick, period, period, unit);
+    }
+
+    //getFailedTicks() - number of scheduled ticks that threw
+    public long getFailedTicks() {
+        return failedTicks.get();
+    }
+
+    //getLastFailure() - exception of last failed scheduled tick, or null if no tick failed
+    public RuntimeException getLastFailure() {
+        return lastFailure;
+    }
+
+    private void scheduledTick() {
+        try {
+            accrueDay();
+        } catch (RuntimeException e) {
+            lastFailure = e;
+            failedTicks.incrementAndGet();
+        }
+    }
+
+}
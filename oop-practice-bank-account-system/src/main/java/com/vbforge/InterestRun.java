@@ -0,0 +1,47 @@
+package com.vbforge;
+
+import java.util.concurrent.RecursiveTask;
+
+//fork-join task applying monthly interest to a range of accounts, returns credited cents
+//ranges are split until they are small enough, each leaf works on its own accounts,
+//and partial sums are exact longs, so the total doesn't depend on how the work was split
+final class InterestRun extends RecursiveTask<Long> {
+
+    private static final long serialVersionUID = 1L;
+
+    static final int THRESHOLD = 4096;                      //accounts per leaf task
+
+    private final BankAccount[] accounts;
+    private final int from;                                 //inclusive
+    private final int to;                                   //exclusive
+
+    InterestRun(BankAccount[] accounts, int from, int to) {
+        this.accounts = accounts;
+        this.from = from;
+        this.to = to;
+    }
+
+    @Override
+    protected Long compute() {
+        if(to - from <= THRESHOLD) {
+            return applyRange(accounts, from, to);
+        }
+        int middle = (from + to) >>> 1;
+        InterestRun left = new InterestRun(accounts, from, middle);
+        left.fork();
+        long right = new InterestRun(accounts, middle, to).compute();
+        return left.join() + right;
+    }
+
+    //applyRange(...) - serial interest run over range, also used by the sequential path
+    static long applyRange(BankAccount[] accounts, int from, int to) {
+        long credited = 0;
+        for(int i = from; i < to; i++) {
+            if(accounts[i] instanceof SavingsAccount savings) {
+                credited += savings.applyInterestCents();
+            }
+        }
+        return credited;
+    }
+
+}
@@ -0,0 +1,79 @@
+package com.vbforge;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+//concurrent latency histogram with log-linear buckets (HDR-style): every power of two is split into
+//SUB_BUCKETS equal buckets, so any recorded value is reported within 1/SUB_BUCKETS (~6%) of its true value
+//recording is one array increment, no allocation; percentiles are computed from a copy of the counts
+final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    static final int BUCKETS = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+    //record(long nanos) - counts one value (negative values count as 0)
+    void record(long nanos) {
+        counts.incrementAndGet(bucketOf(Math.max(0, nanos)));
+    }
+
+    //copyCounts() - current bucket counts, buckets may be updated concurrently while copying
+    long[] copyCounts() {
+        long[] copy = new long[BUCKETS];
+        for(int i = 0; i < BUCKETS; i++) {
+            copy[i] = counts.get(i);
+        }
+        return copy;
+    }
+
+    //maxOf(long[] counts) - highest value of highest non-empty bucket, 0 if nothing was recorded
+    static long maxOf(long[] counts) {
+        for(int i = counts.length - 1; i >= 0; i--) {
+            if(counts[i] != 0) {
+                return highestValueIn(i);
+            }
+        }
+        return 0;
+    }
+
+    static int bucketOf(long value) {
+        if(value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    //highestValueIn(int bucket) - largest value that falls into bucket
+    static long highestValueIn(int bucket) {
+        if(bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        long lowest = (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << (exponent - SUB_BUCKET_BITS);
+        return lowest + (1L << (exponent - SUB_BUCKET_BITS)) - 1;
+    }
+
+    //valueAtPercentile(long[] counts, double percentile) - value below or at which percentile % of values fall
+    static long valueAtPercentile(long[] counts, double percentile) {
+        long total = 0;
+        for(long count : counts) {
+            total += count;
+        }
+        if(total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(total * percentile / 100.0));
+        long seen = 0;
+        for(int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if(seen >= rank) {
+                return highestValueIn(i);
+            }
+        }
+        return highestValueIn(counts.length - 1);
+    }
+
+}
@@ -0,0 +1,69 @@
+package com.vbforge;
+
+//fixed-point money helpers: amounts are kept as long minor units (cents), so sums and differences are exact
+//doubles only appear at the public API boundary and are rounded to the nearest cent there
+public final class Money {
+
+    public static final int CENTS_PER_UNIT = 100;
+
+    private Money() {
+    }
+
+    //toCents(double amount) - rounds amount to nearest cent (half up)
+    public static long toCents(double amount) {
+        return Math.round(amount * CENTS_PER_UNIT);
+    }
+
+    //toAmount(long cents) - converts cents back to amount
+    public static double toAmount(long cents) {
+        return (double) cents / CENTS_PER_UNIT;
+    }
+
+    //divideHalfEven(long dividend, long divisor) - integer division rounded half to even (banker's rounding), divisor > 0
+    public static long divideHalfEven(long dividend, long divisor) {
+        long quotient = Math.floorDiv(dividend, divisor);
+        long remainder = Math.floorMod(dividend, divisor);      //0 <= remainder < divisor
+        long twice = remainder * 2;
+        if(twice > divisor || (twice == divisor && (quotient & 1) != 0)) {
+            quotient++;
+        }
+        return quotient;
+    }
+
+    //appendFormatted(long cents, StringBuilder target) - appends "1234.56", no temporary objects
+    public static StringBuilder appendFormatted(long cents, StringBuilder target) {
+        if(cents < 0) {
+            target.append('-');
+            cents = -cents;
+        }
+        long fraction = cents % CENTS_PER_UNIT;
+        target.append(cents / CENTS_PER_UNIT).append('.');
+        if(fraction < 10) {
+            target.append('0');
+        }
+        return target.append(fraction);
+    }
+
+    //format(long cents) - returns "1234.56", only the result string is allocated
+    public static String format(long cents) {
+        char[] buffer = new char[21];                           //sign + 19 digits + '.'
+        int position = buffer.length;
+        boolean negative = cents < 0;
+        long value = negative ? -cents : cents;
+
+        buffer[--position] = (char) ('0' + value % 10);
+        value /= 10;
+        buffer[--position] = (char) ('0' + value % 10);
+        value /= 10;
+        buffer[--position] = '.';
+        do {
+            buffer[--position] = (char) ('0' + value % 10);
+            value /= 10;
+        } while(value != 0);
+        if(negative) {
+            buffer[--position] = '-';
+        }
+        return new String(buffer, position, buffer.length - position);
+    }
+
+}
@@ -0,0 +1,14 @@
+package com.vbforge;
+
+//why a money movement was refused, carried by TransactionRejectedException and counted by BankMetrics
+public enum RejectionReason {
+
+    INSUFFICIENT_FUNDS,         //amount is greater than balance
+    MINIMUM_BALANCE,            //savings account would go below its minimum balance
+    ACCOUNT_NOT_FOUND,          //account number is not in bank
+    SAME_ACCOUNT,               //source and target are the same account
+    INVALID_AMOUNT,             //amount is zero, negative or less than a cent
+    BALANCE_OVERFLOW,           //resulting balance does not fit in long cents
+    TRANSFER_ID_LIMIT           //transferOnce() already remembers the maximum number of unexpired transfer ids
+
+}
@@ -1,8 +1,18 @@
 package com.vbforge;
 
+import java.math.RoundingMode;
+import java.util.concurrent.locks.Lock;
+
 public class SavingsAccount extends BankAccount{
 
+    //rounding applied to interest cents; half-even keeps rounding errors unbiased over many accounts
+    public static final RoundingMode INTEREST_ROUNDING = RoundingMode.HALF_EVEN;
+
+    static final long RATE_SCALE = 10_000;                  //interest rate kept in 1/10000 of percent
+    static final long MONTHLY_DIVISOR = 100 * 12 * RATE_SCALE;
+
     private final double interestRate;        //annual interest rate (as percentage)
+    private final long scaledInterestRate;    //interestRate * RATE_SCALE, exact integer form used in calculations
     private final int minimumBalance;         //minimum required balance
 
     public SavingsAccount(String accountNumber, String ownerName, double balance, double interestRate, int minimumBalance) {
@@ -14,9 +24,25 @@ public class SavingsAccount extends BankAccount{
             throw new IllegalArgumentException("Minimum balance required and cannot be negative.");
         }
         this.interestRate = interestRate;
+        this.scaledInterestRate = Math.round(interestRate * RATE_SCALE);
+        this.minimumBalance = minimumBalance;
+    }
+
+    //trusted constructor for data validated when it was stored, no checks are repeated
+    SavingsAccount(int accountKey, String ownerName, long balanceCents, boolean active,
+                   long scaledInterestRate, int minimumBalance) {
+        super(accountKey, ownerName, balanceCents, active);
+        this.interestRate = (double) scaledInterestRate / RATE_SCALE;
+        this.scaledInterestRate = scaledInterestRate;
         this.minimumBalance = minimumBalance;
     }
 
+    //restore(...) - bulk hydration of already validated savings account
+    static SavingsAccount restore(int accountKey, String ownerName, long balanceCents, boolean active,
+                                  long scaledInterestRate, int minimumBalance) {
+        return new SavingsAccount(accountKey, ownerName, balanceCents, active, scaledInterestRate, minimumBalance);
+    }
+
     public double getInterestRate() {
         return interestRate;
     }
@@ -27,13 +53,41 @@ public class SavingsAccount extends BankAccount{
 
     //calculateMonthlyInterest() - calculates and returns monthly interest amount annual percentage
     public double calculateMonthlyInterest(){
-        return getBalance() * (interestRate / 100) / 12;
+        return Money.toAmount(calculateMonthlyInterestCents());
+    }
+
+    //calculateMonthlyInterestCents() - monthly interest in cents, rounded with INTEREST_ROUNDING
+    public long calculateMonthlyInterestCents(){
+        return monthlyInterestCents(getBalanceCents(), scaledInterestRate);
+    }
+
+    //monthlyInterestCents(long balanceCents, long scaledInterestRate) - shared formula, also used by columnar storage
+    static long monthlyInterestCents(long balanceCents, long scaledInterestRate) {
+        return Money.divideHalfEven(Math.multiplyExact(balanceCents, scaledInterestRate), MONTHLY_DIVISOR);
+    }
+
+    long getScaledInterestRate() {
+        return scaledInterestRate;
     }
 
     //applyInterest() - adds monthly interest to balance
     public void applyInterest(){
-        double monthlyInterest = calculateMonthlyInterest();
-        deposit(monthlyInterest);
+        applyInterestCents();
+    }
+
+    //applyInterestCents() - adds monthly interest to balance and returns credited cents
+    long applyInterestCents(){
+        Lock lock = lock();
+        lock.lock();
+        try {
+            long monthlyInterest = calculateMonthlyInterestCents();
+            if(monthlyInterest > 0) {               //balance too small to earn a cent is not an error
+                changeBalanceCents(monthlyInterest);
+            }
+            return monthlyInterest;
+        } finally {
+            lock.unlock();
+        }
     }
 
     //Override withdraw() to ensure minimum balance is maintained
@@ -42,17 +96,23 @@ public class SavingsAccount extends BankAccount{
 
         //already from super(!!!)
         if(amount <= 0){
-            throw new IllegalArgumentException("Amount cannot be negative.");
+            withdrawalDeclined(RejectionReason.INVALID_AMOUNT);
+            throw new TransactionRejectedException(RejectionReason.INVALID_AMOUNT, "Amount cannot be negative.");
         }
 
-        double remainBalance = getBalance() - amount;
+        return super.withdraw(amount);
 
-        if(remainBalance < minimumBalance){
-            throw new IllegalArgumentException("Withdrawal would violate minimum balance.");
-        }
+    }
 
-        return super.withdraw(amount);
+    //minimum balance must stay on account after withdrawal or transfer
+    @Override
+    TransactionStatus withdrawalStatus(long cents) {
+        long remainBalance = getBalanceCents() - cents;
 
+        if(remainBalance < (long) minimumBalance * Money.CENTS_PER_UNIT){
+            return TransactionStatus.MINIMUM_BALANCE;
+        }
+        return super.withdrawalStatus(cents);
     }
 
     //helper method to validate interest rate between 0.1 and 15.0 where: double interestRate annual interest rate (as percentage)
@@ -0,0 +1,348 @@
+package com.vbforge;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+//bank split into N partitions, account number hash decides which partition holds an account
+//single writer: every change of a partition's accounts runs on that partition's own writer thread; account objects never
+//leave the facade (addAccount stores a copy, findAccount and getAccountsByOwner return copies), so no other thread can
+//change them; partitions own disjoint sets of account lock stripes (partition is derived from the stripe of the account),
+//so writers of different partitions never wait for each other's locks
+//transfer between partitions is a debit message to source writer followed by a credit message to target writer
+//(a refund message goes back to source if the credit fails, money goes to suspense balance if the source account
+//was removed meanwhile), no lock is held across partitions
+public class ShardedBank implements AutoCloseable {
+
+    private final Bank[] shards;
+    private final ExecutorService[] writers;                //single thread per shard
+    private final LongAdder inFlightCents = new LongAdder();    //debited but not yet credited by cross-shard transfers
+    private final AtomicLong suspenseCents = new AtomicLong();  //refunds whose source account was removed, see releaseSuspense()
+    private final Object cutLock = new Object();            //one consistent cut at a time, see getTotalBankBalanceCents()
+
+    public ShardedBank(int shardCount) {
+        if(shardCount <= 0) {
+            throw new IllegalArgumentException("Shard count must be greater than 0.");
+        }
+        if(shardCount > AccountLocks.STRIPES) {
+            throw new IllegalArgumentException("Shard count cannot exceed " + AccountLocks.STRIPES + " (number of lock stripes).");
+        }
+        this.shards = new Bank[shardCount];
+        this.writers = new ExecutorService[shardCount];
+        for(int i = 0; i < shardCount; i++) {
+            shards[i] = new Bank();
+            String name = "bank-shard-" + i;
+            writers[i] = Executors.newSingleThreadExecutor(task -> {
+                Thread thread = new Thread(task, name);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    public int getShardCount() {
+        return shards.length;
+    }
+
+    //addAccount(BankAccount account) - adds copy of account to its shard, false if shard is full or account is duplicated;
+    //later changes of the given object do not reach the bank
+    public boolean addAccount(BankAccount account) {
+        if(account == null) {
+            throw new IllegalArgumentException("Bank account must not be null.");
+        }
+        BankAccount stored = copyOf(account);
+        int shard = shardOf(account.getAccountKey());
+        return await(CompletableFuture.supplyAsync(() -> shards[shard].addAccount(stored), writers[shard]));
+    }
+
+    //removeAccount(String accountNumber) - removes account from its shard and returns it, or null if not found
+    public BankAccount removeAccount(String accountNumber) {
+        if(accountNumber == null) {
+            throw new IllegalArgumentException("Account number cannot be null.");
+        }
+        int key = AccountNumbers.toKey(accountNumber);
+        if(key == AccountNumbers.INVALID_KEY) {
+            return null;
+        }
+        int shard = shardOf(key);
+        return await(CompletableFuture.supplyAsync(() -> shards[shard].removeAccount(accountNumber), writers[shard]));
+    }
+
+    //findAccount(String accountNumber) - returns copy of account (state after all earlier messages), or null;
+    //changes go through the facade methods only
+    public BankAccount findAccount(String accountNumber) {
+        if(accountNumber == null) {
+            throw new IllegalArgumentException("Account number cannot be null.");
+        }
+        int key = AccountNumbers.toKey(accountNumber);
+        if(key == AccountNumbers.INVALID_KEY) {
+            return null;
+        }
+        int shard = shardOf(key);
+        return await(CompletableFuture.supplyAsync(() -> copyOf(shards[shard].findAccount(accountNumber)), writers[shard]));
+    }
+
+    //deposit(String accountNumber, double amount) - deposits on writer thread of account's shard
+    public void deposit(String accountNumber, double amount) {
+        int shard = shardOf(existingKey(accountNumber));
+        await(CompletableFuture.runAsync(() -> existing(shard, accountNumber).deposit(amount), writers[shard]));
+    }
+
+    //withdraw(String accountNumber, double amount) - withdraws on writer thread of account's shard
+    public void withdraw(String accountNumber, double amount) {
+        int shard = shardOf(existingKey(accountNumber));
+        await(CompletableFuture.runAsync(() -> existing(shard, accountNumber).withdraw(amount), writers[shard]));
+    }
+
+    //transfer(String fromAccountNumber, String toAccountNumber, double amount) - transfers and waits until money is credited
+    public void transfer(String fromAccountNumber, String toAccountNumber, double amount) {
+        await(transferAsync(fromAccountNumber, toAccountNumber, amount));
+    }
+
+    //transferAsync(String fromAccountNumber, String toAccountNumber, double amount) - completes when money is credited,
+    //or exceptionally with the reason of rejection (money is refunded to source if it was already debited)
+    public CompletableFuture<Void> transferAsync(String fromAccountNumber, String toAccountNumber, double amount) {
+        if(fromAccountNumber == null || toAccountNumber == null) {
+            throw new IllegalArgumentException("Account number cannot be null.");
+        }
+        if(fromAccountNumber.equals(toAccountNumber)) {
+            throw new TransactionRejectedException(RejectionReason.SAME_ACCOUNT, "Cannot transfer to the same account.");
+        }
+        long cents = Money.toCents(amount);
+        if(amount <= 0 || cents <= 0) {
+            throw new TransactionRejectedException(RejectionReason.INVALID_AMOUNT, "Transfer amount must be positive.");
+        }
+        int source = shardOf(existingKey(fromAccountNumber));
+        int target = shardOf(existingKey(toAccountNumber));
+        if(source == target) {
+            return CompletableFuture.runAsync(
+                    () -> shards[source].transfer(fromAccountNumber, toAccountNumber, amount), writers[source]);
+        }
+        return CompletableFuture
+                .runAsync(() -> debit(source, fromAccountNumber, target, toAccountNumber, cents), writers[source])
+                .thenCompose(debited -> CompletableFuture
+                        .runAsync(() -> credit(target, toAccountNumber, cents), writers[target])
+                        .exceptionallyCompose(failure -> CompletableFuture
+                                .runAsync(() -> refund(source, fromAccountNumber, cents), writers[source])
+                                .thenRun(() -> {
+                                    throw failure instanceof CompletionException
+                                            ? (CompletionException) failure : new CompletionException(failure);
+                                })));
+    }
+
+    //getSuspenseBalanceCents() - money of failed cross-shard transfers that could not be refunded (source account removed)
+    public long getSuspenseBalanceCents() {
+        return suspenseCents.get();
+    }
+
+    //releaseSuspense(String accountNumber, double amount) - moves money from suspense balance to account
+    public void releaseSuspense(String accountNumber, double amount) {
+        long cents = Money.toCents(amount);
+        if(amount <= 0 || cents <= 0) {
+            throw new TransactionRejectedException(RejectionReason.INVALID_AMOUNT, "Amount must be positive.");
+        }
+        int shard = shardOf(existingKey(accountNumber));
+        await(CompletableFuture.runAsync(() -> {
+            BankAccount account = existing(shard, accountNumber);
+            if(suspenseCents.getAndUpdate(balance -> balance >= cents ? balance - cents : balance) < cents) {
+                throw new TransactionRejectedException(RejectionReason.INSUFFICIENT_FUNDS,
+                        "Amount cannot be greater than suspense balance.");
+            }
+            try {
+                account.changeBalanceCents(cents);
+            } catch (RuntimeException e) {
+                suspenseCents.addAndGet(cents);
+                throw e;
+            }
+        }, writers[shard]));
+    }
+
+    //getTotalBankBalance() - sum of all shards plus money of cross-shard transfers still in flight and suspense balance
+    public double getTotalBankBalance() {
+        return Money.toAmount(getTotalBankBalanceCents());
+    }
+
+    //getTotalBankBalanceCents() - exact total taken at a consistent cut: a pause message is queued to every writer
+    //and the sums are read once all writers are paused between messages, so no debit or credit is half done;
+    //writes on all shards wait for the duration of the read
+    public long getTotalBankBalanceCents() {
+        synchronized(cutLock) {         //two interleaved cuts could pause each other's writers forever
+            CountDownLatch paused = new CountDownLatch(shards.length);
+            CountDownLatch resume = new CountDownLatch(1);
+            try {
+                for(ExecutorService writer : writers) {
+                    writer.execute(() -> {
+                        paused.countDown();
+                        awaitUninterruptibly(resume);
+                    });
+                }
+                awaitUninterruptibly(paused);
+                long total = inFlightCents.sum() + suspenseCents.get();
+                for(Bank shard : shards) {
+                    total += shard.getTotalBankBalanceCents();
+                }
+                return total;
+            } finally {
+                resume.countDown();
+            }
+        }
+    }
+
+    //getActiveAccountsCount() - sum of per-shard counts, read without a cut (approximate while accounts change)
+    public int getActiveAccountsCount() {
+        int count = 0;
+        for(Bank shard : shards) {
+            count += shard.getActiveAccountsCount();
+        }
+        return count;
+    }
+
+    //size() - sum of per-shard sizes, read without a cut (approximate while accounts are added or removed)
+    public int size() {
+        int count = 0;
+        for(Bank shard : shards) {
+            count += shard.size();
+        }
+        return count;
+    }
+
+    //getAccountsByOwner(String ownerName) - copies of owner's accounts from all shards, in shard order
+    public BankAccount[] getAccountsByOwner(String ownerName) {
+        List<CompletableFuture<BankAccount[]>> parts = new ArrayList<>(shards.length);
+        for(int i = 0; i < shards.length; i++) {
+            Bank shard = shards[i];
+            parts.add(CompletableFuture.supplyAsync(() -> {
+                BankAccount[] accounts = shard.getAccountsByOwner(ownerName);
+                for(int j = 0; j < accounts.length; j++) {
+                    accounts[j] = copyOf(accounts[j]);
+                }
+                return accounts;
+            }, writers[i]));
+        }
+        List<BankAccount> merged = new ArrayList<>();
+        for(CompletableFuture<BankAccount[]> part : parts) {
+            for(BankAccount account : await(part)) {
+                merged.add(account);
+            }
+        }
+        return merged.toArray(new BankAccount[merged.size()]);
+    }
+
+    //processMonthlyInterest() - applies interest on all shards in parallel, each on its writer thread
+    public void processMonthlyInterest() {
+        CompletableFuture<?>[] runs = new CompletableFuture<?>[shards.length];
+        for(int i = 0; i < shards.length; i++) {
+            Bank shard = shards[i];
+            runs[i] = CompletableFuture.runAsync(shard::processMonthlyInterest, writers[i]);
+        }
+        await(CompletableFuture.allOf(runs));
+    }
+
+    //close() - stops writer threads after queued messages are processed
+    @Override
+    public void close() {
+        for(ExecutorService writer : writers) {
+            writer.shutdown();
+        }
+    }
+
+    //shard is derived from lock stripe of the account, so every stripe belongs to exactly one shard
+    int shardOf(int key) {
+        return AccountLocks.stripeOf(key) % shards.length;     //stripeOf spreads sequential numbers evenly
+    }
+
+    //runs on source writer: takes money from source account, target is checked first so rejection needs no refund
+    private void debit(int source, String fromAccountNumber, int target, String toAccountNumber, long cents) {
+        BankAccount from = existing(source, fromAccountNumber);
+        existing(target, toAccountNumber);
+        if(cents > from.getBalanceCents()) {
+            throw new TransactionRejectedException(RejectionReason.INSUFFICIENT_FUNDS, "Insufficient funds.");
+        }
+        from.withdraw(Money.toAmount(cents));       //same rules as withdraw(), e.g. savings minimum balance
+        inFlightCents.add(cents);
+    }
+
+    //runs on target writer: hands money in flight to account, money stays in flight for refund() if it fails
+    private void credit(int shard, String accountNumber, long cents) {
+        existing(shard, accountNumber).changeBalanceCents(cents);
+        inFlightCents.add(-cents);
+    }
+
+    //runs on source writer after failed credit: hands money in flight back to source account,
+    //or to suspense balance if source account was removed (or cannot take it) meanwhile, so money never disappears
+    private void refund(int source, String fromAccountNumber, long cents) {
+        try {
+            existing(source, fromAccountNumber).changeBalanceCents(cents);
+        } catch (RuntimeException e) {
+            suspenseCents.addAndGet(cents);
+        } finally {
+            inFlightCents.add(-cents);
+        }
+    }
+
+    private BankAccount existing(int shard, String accountNumber) {
+        BankAccount account = shards[shard].findAccount(accountNumber);
+        if(account == null) {
+            throw new TransactionRejectedException(RejectionReason.ACCOUNT_NOT_FOUND, "Account not found: " + accountNumber);
+        }
+        return account;
+    }
+
+    private static int existingKey(String accountNumber) {
+        if(accountNumber == null) {
+            throw new IllegalArgumentException("Account number cannot be null.");
+        }
+        int key = AccountNumbers.toKey(accountNumber);
+        if(key == AccountNumbers.INVALID_KEY) {
+            throw new TransactionRejectedException(RejectionReason.ACCOUNT_NOT_FOUND, "Account not found: " + accountNumber);
+        }
+        return key;
+    }
+
+    //helper method to detach account from callers: unobserved copy with the same state
+    private static BankAccount copyOf(BankAccount account) {
+        if(account == null) {
+            return null;
+        }
+        if(account instanceof SavingsAccount savings) {
+            return SavingsAccount.restore(savings.getAccountKey(), savings.getOwnerName(), savings.getBalanceCents(),
+                    savings.isActive(), savings.getScaledInterestRate(), savings.getMinimumBalance());
+        }
+        return BankAccount.restore(account.getAccountKey(), account.getOwnerName(), account.getBalanceCents(),
+                account.isActive());
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        boolean interrupted = false;
+        while(true) {
+            try {
+                latch.await();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if(interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    //helper method to wait for shard message and rethrow its failure unwrapped
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if(e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+}
@@ -0,0 +1,461 @@
+package com.vbforge;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+//append-only write-ahead journal of account mutations, backed by memory-mapped file segments
+//appends are plain memory writes: they survive a process crash as soon as they return (the data is in the page cache);
+//fsync is done by a background flusher every groupCommitMillis (group commit), so it's never on the per-transaction path
+//
+//file layout: header (magic, version, segment size), then records; every record starts with its type byte,
+//the type byte is written last, so a record cut off by a crash reads as END
+final class TransactionJournal implements AutoCloseable {
+
+    static final int MAGIC = 0x424A524E;                    //"BJRN"
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 16;                      //magic, version, segment size, reserved
+    static final int DEFAULT_SEGMENT_SIZE = 64 << 20;       //64 MB per mapped segment
+
+    //record types
+    static final byte END = 0;                              //no more records
+    static final byte OPEN = 1;                             //account with full state (created or checkpointed)
+    static final byte BALANCE = 2;                          //balance delta
+    static final byte STATUS = 3;                           //active flag changed
+    static final byte NEXT_SEGMENT = 4;                     //rest of segment unused, continue in next one
+    static final byte TRANSFER = 5;                         //money moved between two accounts (one atomic record)
+    static final byte BATCH = 6;                            //balance deltas of one batch (one atomic record)
+    static final byte CLOSE = 7;                            //account removed from bank
+
+    private static final int OPEN_FIXED_SIZE = 1 + 4 + 1 + 8 + 8 + 4 + 2;  //type, key, flags, balance, rate, minimum, name length
+    private static final int BALANCE_SIZE = 1 + 4 + 8;
+    private static final int STATUS_SIZE = 1 + 4 + 1;
+    private static final int TRANSFER_SIZE = 1 + 4 + 4 + 8;
+    private static final int CLOSE_SIZE = 1 + 4;
+    private static final int BATCH_FIXED_SIZE = 1 + 4;      //type, count, then count * (key, delta)
+    private static final int BATCH_ENTRY_SIZE = 4 + 8;
+
+    private static final byte FLAG_SAVINGS = 1;
+    private static final byte FLAG_ACTIVE = 2;
+
+    //receives records while journal is read
+    interface Visitor {
+        void opened(int key, String ownerName, boolean savings, boolean active,
+                    long balanceCents, long scaledInterestRate, int minimumBalance);
+        void balanceChanged(int key, long deltaCents);
+        void transferred(int sourceKey, int targetKey, long cents);
+        void batchApplied(int[] keys, long[] deltasCents);
+        void statusChanged(int key, boolean active);
+        void closed(int key);
+    }
+
+    private final FileChannel channel;
+    private final int segmentSize;
+    private long segmentStart;                              //file offset of current segment
+    private MappedByteBuffer segment;                       //current segment, guarded by this
+    private volatile boolean dirty;                         //records appended since last force
+    private final ScheduledExecutorService flusher;
+
+    private TransactionJournal(FileChannel channel, int segmentSize, long segmentStart, int position,
+                               long groupCommitMillis) throws IOException {
+        this.channel = channel;
+        this.segmentSize = segmentSize;
+        this.segmentStart = segmentStart;
+        this.segment = channel.map(FileChannel.MapMode.READ_WRITE, segmentStart, segmentSize);
+        this.segment.position(position);
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "journal-group-commit");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flushQuietly, groupCommitMillis, groupCommitMillis, TimeUnit.MILLISECONDS);
+    }
+
+    //create(Path file, long groupCommitMillis, int segmentSize) - creates new empty journal, replacing existing file
+    static TransactionJournal create(Path file, long groupCommitMillis, int segmentSize) throws IOException {
+        validate(groupCommitMillis, segmentSize);
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC).putInt(VERSION).putInt(segmentSize).putInt(0).flip();
+        channel.write(header, 0);
+        return new TransactionJournal(channel, segmentSize, 0, HEADER_SIZE, groupCommitMillis);
+    }
+
+    //openForAppend(Path file, long groupCommitMillis, Visitor visitor) - replays existing journal into visitor,
+    //then continues appending after its last complete record
+    //bytes after that record (payload of a record cut off by a crash) are cleared first: a shorter record appended
+    //over them would otherwise leave stale bytes that the next replay reads as record types
+    static TransactionJournal openForAppend(Path file, long groupCommitMillis, Visitor visitor) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            int segmentSize = readSegmentSize(channel);
+            validate(groupCommitMillis, segmentSize);
+            long end = scan(channel, segmentSize, HEADER_SIZE, visitor);
+            long segmentStart = end / segmentSize * segmentSize;
+            channel.truncate(segmentStart + segmentSize);       //later segments hold no complete record
+            TransactionJournal journal = new TransactionJournal(channel, segmentSize, segmentStart,
+                    (int) (end - segmentStart), groupCommitMillis);
+            journal.clearRestOfSegment();
+            return journal;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    //replay(Path file, Visitor visitor) - reads all complete records of journal
+    static void replay(Path file, Visitor visitor) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            scan(channel, readSegmentSize(channel), HEADER_SIZE, visitor);
+        }
+    }
+
+    //appendOpen(BankAccount account) - records full account state, caller holds account lock
+    void appendOpen(BankAccount account) throws IOException {
+        long rate = 0;
+        int minimum = 0;
+        if(account instanceof SavingsAccount savings) {
+            rate = savings.getScaledInterestRate();
+            minimum = savings.getMinimumBalance();
+        }
+        appendOpen(account.getAccountKey(), account.getOwnerName(), account instanceof SavingsAccount,
+                account.isActive(), account.getBalanceCents(), rate, minimum);
+    }
+
+    //appendOpen(int key, String ownerName, ...) - records full account state given as plain values
+    synchronized void appendOpen(int key, String ownerName, boolean savings, boolean active,
+                                 long balanceCents, long scaledInterestRate, int minimumBalance) throws IOException {
+        byte[] owner = ownerName.getBytes(StandardCharsets.UTF_8);
+        if(owner.length > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Owner name is too long for journal.");
+        }
+        byte flags = active ? FLAG_ACTIVE : 0;
+        if(savings) {
+            flags |= FLAG_SAVINGS;
+        }
+        ByteBuffer buffer = reserve(OPEN_FIXED_SIZE + owner.length);
+        int start = buffer.position();
+        buffer.position(start + 1);
+        buffer.putInt(key).put(flags).putLong(balanceCents)
+                .putLong(scaledInterestRate).putInt(minimumBalance).putShort((short) owner.length).put(owner);
+        buffer.put(start, OPEN);
+        dirty = true;
+    }
+
+    synchronized void appendBalance(int key, long deltaCents) throws IOException {
+        ByteBuffer buffer = reserve(BALANCE_SIZE);
+        int start = buffer.position();
+        buffer.position(start + 1);
+        buffer.putInt(key).putLong(deltaCents);
+        buffer.put(start, BALANCE);
+        dirty = true;
+    }
+
+    synchronized void appendTransfer(int sourceKey, int targetKey, long cents) throws IOException {
+        ByteBuffer buffer = reserve(TRANSFER_SIZE);
+        int start = buffer.position();
+        buffer.position(start + 1);
+        buffer.putInt(sourceKey).putInt(targetKey).putLong(cents);
+        buffer.put(start, TRANSFER);
+        dirty = true;
+    }
+
+    //appendBatch(int[] keys, long[] deltasCents, int count) - records deltas of first count accounts as one record
+    synchronized void appendBatch(int[] keys, long[] deltasCents, int count) throws IOException {
+        ByteBuffer buffer = reserve(BATCH_FIXED_SIZE + count * BATCH_ENTRY_SIZE);
+        int start = buffer.position();
+        buffer.position(start + 1);
+        buffer.putInt(count);
+        for(int i = 0; i < count; i++) {
+            buffer.putInt(keys[i]).putLong(deltasCents[i]);
+        }
+        buffer.put(start, BATCH);
+        dirty = true;
+    }
+
+    synchronized void appendClose(int key) throws IOException {
+        ByteBuffer buffer = reserve(CLOSE_SIZE);
+        int start = buffer.position();
+        buffer.position(start + 1);
+        buffer.putInt(key);
+        buffer.put(start, CLOSE);
+        dirty = true;
+    }
+
+    synchronized void appendStatus(int key, boolean active) throws IOException {
+        ByteBuffer buffer = reserve(STATUS_SIZE);
+        int start = buffer.position();
+        buffer.position(start + 1);
+        buffer.putInt(key).put((byte) (active ? 1 : 0));
+        buffer.put(start, STATUS);
+        dirty = true;
+    }
+
+    //position() - file offset where next record will be appended, see copySince()
+    synchronized long position() {
+        return segmentStart + segment.position();
+    }
+
+    //copySince(long position, TransactionJournal target) - appends records written since position() returned position
+    //to target, caller makes sure nothing is appended to this journal meanwhile
+    void copySince(long position, TransactionJournal target) throws IOException {
+        try {
+            scan(channel, segmentSize, position, new Copy(target));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    //sync() - forces all appended records to disk now
+    void sync() {
+        MappedByteBuffer current;
+        synchronized (this) {
+            current = segment;
+            dirty = false;
+        }
+        current.force();
+    }
+
+    @Override
+    public void close() throws IOException {
+        flusher.shutdownNow();
+        try {
+            sync();
+        } finally {
+            channel.close();
+        }
+    }
+
+    //helper method to zero current segment from append position to its end
+    private synchronized void clearRestOfSegment() {
+        ByteBuffer rest = segment.duplicate();
+        byte[] zeros = new byte[8192];
+        while(rest.hasRemaining()) {
+            rest.put(zeros, 0, Math.min(zeros.length, rest.remaining()));
+        }
+        dirty = true;
+    }
+
+    //called by flusher thread, writes nothing if no record was appended since last run
+    private void flushQuietly() {
+        if(dirty) {
+            sync();
+        }
+    }
+
+    //helper method to make room for record of given length, moves to next segment when current one is full
+    private ByteBuffer reserve(int length) throws IOException {
+        if(segment.remaining() >= length) {
+            return segment;
+        }
+        if(length > segmentSize) {
+            throw new IllegalArgumentException("Journal record is larger than segment size.");
+        }
+        if(segment.hasRemaining()) {
+            segment.put(segment.position(), NEXT_SEGMENT);
+        }
+        segment.force();                                    //once per segment, keeps older segments durable
+        segmentStart += segmentSize;
+        segment = channel.map(FileChannel.MapMode.READ_WRITE, segmentStart, segmentSize);
+        return segment;
+    }
+
+    //helper method to read records starting at file offset from into visitor,
+    //returns file offset right after last complete record
+    private static long scan(FileChannel channel, int segmentSize, long from, Visitor visitor) throws IOException {
+        long fileSize = channel.size();
+        long segmentStart = from / segmentSize * segmentSize;
+        int position = (int) (from - segmentStart);
+        while(segmentStart < fileSize) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, segmentStart,
+                    Math.min(segmentSize, fileSize - segmentStart));
+            buffer.position(position);
+            while(true) {
+                if(!buffer.hasRemaining()) {
+                    break;                                  //segment used to the last byte
+                }
+                int start = buffer.position();
+                byte type = buffer.get();
+                if(type == END) {
+                    return segmentStart + start;
+                }
+                if(type == NEXT_SEGMENT) {
+                    break;
+                }
+                if(!readRecord(type, buffer, visitor)) {
+                    return segmentStart + start;            //record cut off at end of file
+                }
+            }
+            segmentStart += segmentSize;
+            position = 0;
+        }
+        return segmentStart;
+    }
+
+    private static boolean readRecord(byte type, ByteBuffer buffer, Visitor visitor) throws IOException {
+        switch (type) {
+            case OPEN -> {
+                if(buffer.remaining() < OPEN_FIXED_SIZE - 1) {
+                    return false;
+                }
+                int key = buffer.getInt();
+                byte flags = buffer.get();
+                long balance = buffer.getLong();
+                long rate = buffer.getLong();
+                int minimum = buffer.getInt();
+                byte[] owner = new byte[buffer.getShort()];
+                if(buffer.remaining() < owner.length) {
+                    return false;
+                }
+                buffer.get(owner);
+                visitor.opened(key, new String(owner, StandardCharsets.UTF_8), (flags & FLAG_SAVINGS) != 0,
+                        (flags & FLAG_ACTIVE) != 0, balance, rate, minimum);
+            }
+            case BALANCE -> {
+                if(buffer.remaining() < BALANCE_SIZE - 1) {
+                    return false;
+                }
+                visitor.balanceChanged(buffer.getInt(), buffer.getLong());
+            }
+            case TRANSFER -> {
+                if(buffer.remaining() < TRANSFER_SIZE - 1) {
+                    return false;
+                }
+                visitor.transferred(buffer.getInt(), buffer.getInt(), buffer.getLong());
+            }
+            case BATCH -> {
+                if(buffer.remaining() < BATCH_FIXED_SIZE - 1) {
+                    return false;
+                }
+                int count = buffer.getInt();
+                if(count < 0 || buffer.remaining() < (long) count * BATCH_ENTRY_SIZE) {
+                    return false;
+                }
+                int[] keys = new int[count];
+                long[] deltas = new long[count];
+                for(int i = 0; i < count; i++) {
+                    keys[i] = buffer.getInt();
+                    deltas[i] = buffer.getLong();
+                }
+                visitor.batchApplied(keys, deltas);
+            }
+            case STATUS -> {
+                if(buffer.remaining() < STATUS_SIZE - 1) {
+                    return false;
+                }
+                visitor.statusChanged(buffer.getInt(), buffer.get() != 0);
+            }
+            case CLOSE -> {
+                if(buffer.remaining() < CLOSE_SIZE - 1) {
+                    return false;
+                }
+                visitor.closed(buffer.getInt());
+            }
+            default -> throw new IOException("Corrupted journal: unknown record type " + type + ".");
+        }
+        return true;
+    }
+
+    //appends every record read to target journal, append failures are rethrown unchecked (Visitor methods cannot throw)
+    private static final class Copy implements Visitor {
+
+        private final TransactionJournal target;
+
+        Copy(TransactionJournal target) {
+            this.target = target;
+        }
+
+        @Override
+        public void opened(int key, String ownerName, boolean savings, boolean active,
+                           long balanceCents, long scaledInterestRate, int minimumBalance) {
+            try {
+                target.appendOpen(key, ownerName, savings, active, balanceCents, scaledInterestRate, minimumBalance);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void balanceChanged(int key, long deltaCents) {
+            try {
+                target.appendBalance(key, deltaCents);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void transferred(int sourceKey, int targetKey, long cents) {
+            try {
+                target.appendTransfer(sourceKey, targetKey, cents);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void batchApplied(int[] keys, long[] deltasCents) {
+            try {
+                target.appendBatch(keys, deltasCents, keys.length);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void statusChanged(int key, boolean active) {
+            try {
+                target.appendStatus(key, active);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void closed(int key) {
+            try {
+                target.appendClose(key);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+    }
+
+    private static int readSegmentSize(FileChannel channel) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        while(header.hasRemaining()) {
+            if(channel.read(header, header.position()) < 0) {
+                throw new IOException("Journal header is incomplete.");
+            }
+        }
+        header.flip();
+        if(header.getInt() != MAGIC) {
+            throw new IOException("Not a bank journal file.");
+        }
+        int version = header.getInt();
+        if(version != VERSION) {
+            throw new IOException("Unsupported journal version " + version + ".");
+        }
+        return header.getInt();
+    }
+
+    private static void validate(long groupCommitMillis, int segmentSize) {
+        if(groupCommitMillis <= 0) {
+            throw new IllegalArgumentException("Group commit interval must be positive.");
+        }
+        if(segmentSize < HEADER_SIZE + 256) {
+            throw new IllegalArgumentException("Journal segment size is too small.");
+        }
+    }
+
+}
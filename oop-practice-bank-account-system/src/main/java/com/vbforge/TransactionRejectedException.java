@@ -0,0 +1,25 @@
+package com.vbforge;
+
+//thrown when a deposit, withdrawal or transfer is refused by account rules
+//extends IllegalArgumentException, so existing callers keep working and new ones can switch on getReason()
+public class TransactionRejectedException extends IllegalArgumentException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final RejectionReason reason;
+
+    public TransactionRejectedException(RejectionReason reason, String message) {
+        super(message);
+        this.reason = reason;
+    }
+
+    public TransactionRejectedException(RejectionReason reason, String message, Throwable cause) {
+        super(message, cause);
+        this.reason = reason;
+    }
+
+    public RejectionReason getReason() {
+        return reason;
+    }
+
+}
@@ -0,0 +1,30 @@
+package com.vbforge;
+
+//outcome of tryWithdraw() / tryTransfer(): COMPLETED or the reason of decline
+//constants are shared, so a declined operation allocates nothing (unlike throwing TransactionRejectedException)
+public enum TransactionStatus {
+
+    COMPLETED(null),
+    INSUFFICIENT_FUNDS(RejectionReason.INSUFFICIENT_FUNDS),
+    MINIMUM_BALANCE(RejectionReason.MINIMUM_BALANCE),
+    ACCOUNT_NOT_FOUND(RejectionReason.ACCOUNT_NOT_FOUND),
+    SAME_ACCOUNT(RejectionReason.SAME_ACCOUNT),
+    INVALID_AMOUNT(RejectionReason.INVALID_AMOUNT),
+    BALANCE_OVERFLOW(RejectionReason.BALANCE_OVERFLOW);
+
+    private final RejectionReason rejectionReason;
+
+    TransactionStatus(RejectionReason rejectionReason) {
+        this.rejectionReason = rejectionReason;
+    }
+
+    public boolean isCompleted() {
+        return this == COMPLETED;
+    }
+
+    //getRejectionReason() - reason of decline, null for COMPLETED
+    public RejectionReason getRejectionReason() {
+        return rejectionReason;
+    }
+
+}
@@ -0,0 +1,53 @@
+package com.vbforge;
+
+import java.util.Objects;
+
+//one instruction of a batch transfer: move amount from one account to another, accounts given by number
+public final class Transfer {
+
+    private final String fromAccountNumber;
+    private final String toAccountNumber;
+    private final double amount;
+
+    public Transfer(String fromAccountNumber, String toAccountNumber, double amount) {
+        this.fromAccountNumber = fromAccountNumber;
+        this.toAccountNumber = toAccountNumber;
+        this.amount = amount;
+    }
+
+    public String getFromAccountNumber() {
+        return fromAccountNumber;
+    }
+
+    public String getToAccountNumber() {
+        return toAccountNumber;
+    }
+
+    public double getAmount() {
+        return amount;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Transfer that)) return false;
+        return Double.compare(amount, that.amount) == 0
+                && Objects.equals(fromAccountNumber, that.fromAccountNumber)
+                && Objects.equals(toAccountNumber, that.toAccountNumber);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(fromAccountNumber, toAccountNumber, amount);
+    }
+
+    @Override
+    public String toString() {
+        return "Transfer{" +
+                "from='" + fromAccountNumber + '\'' +
+                ", to='" + toAccountNumber + '\'' +
+                ", amount=" + amount +
+                '}';
+    }
+
+}
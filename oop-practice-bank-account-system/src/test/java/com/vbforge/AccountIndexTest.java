@@ -0,0 +1,90 @@
+package com.vbforge;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Account Index Tests")
+class AccountIndexTest {
+
+    @Test
+    @DisplayName("Should return -1 for absent key")
+    void shouldReturnMinusOneForAbsentKey() {
+        AccountIndex index = new AccountIndex(4);
+
+        assertThat(index.get(123456)).isEqualTo(-1);
+        assertThat(index.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should replace position for existing key")
+    void shouldReplacePositionForExistingKey() {
+        AccountIndex index = new AccountIndex(4);
+
+        index.put(42, 0);
+        index.put(42, 7);
+
+        assertThat(index.get(42)).isEqualTo(7);
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should grow beyond expected size and keep all keys")
+    void shouldGrowBeyondExpectedSize() {
+        AccountIndex index = new AccountIndex(1);
+
+        for (int key = 0; key <= AccountNumbers.MAX_KEY; key += 97) {
+            index.put(key, key / 97);
+        }
+
+        for (int key = 0; key <= AccountNumbers.MAX_KEY; key += 97) {
+            assertThat(index.get(key)).isEqualTo(key / 97);
+        }
+        assertThat(index.get(1)).isEqualTo(-1);
+    }
+
+    @Test
+    @DisplayName("Should keep colliding keys reachable after removal")
+    void shouldKeepKeysReachableAfterRemoval() {
+        AccountIndex index = new AccountIndex(16);
+        for (int key = 0; key < 10_000; key++) {
+            index.put(key, key);
+        }
+
+        for (int key = 0; key < 10_000; key += 2) {
+            assertThat(index.remove(key)).isTrue();
+        }
+
+        assertThat(index.size()).isEqualTo(5_000);
+        for (int key = 0; key < 10_000; key++) {
+            assertThat(index.get(key)).isEqualTo(key % 2 == 0 ? -1 : key);
+        }
+        assertThat(index.remove(0)).isFalse();
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "ACC-000000, 0",
+            "ACC-123456, 123456",
+            "ACC-999999, 999999",
+            "ACC-12345A, -1",
+            "ACC-1234567, -1",
+            "acc-123456, -1",
+            "ACCX123456, -1"
+    })
+    @DisplayName("Should convert account number to key")
+    void shouldConvertAccountNumberToKey(String accountNumber, int expectedKey) {
+        assertThat(AccountNumbers.toKey(accountNumber)).isEqualTo(expectedKey);
+    }
+
+    @Test
+    @DisplayName("Should convert key back to account number")
+    void shouldConvertKeyBackToAccountNumber() {
+        assertThat(AccountNumbers.fromKey(42)).isEqualTo("ACC-000042");
+        assertThat(AccountNumbers.toKey(AccountNumbers.fromKey(987654))).isEqualTo(987654);
+    }
+
+}
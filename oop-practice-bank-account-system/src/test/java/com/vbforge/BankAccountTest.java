@@ -182,7 +182,7 @@ class BankAccountTest {
     }
 
     @ParameterizedTest
-    @ValueSource(doubles = {0.0, -0.01, -100.0})
+    @ValueSource(doubles = {0.0, 0.004, -0.01, -100.0})
     @DisplayName("Should reject non-positive transfer amounts")
     void shouldRejectNonPositiveTransferAmounts(double invalidAmount) {
         BankAccount source = new BankAccount("ACC-123456", "John Doe", 1000.0);
@@ -281,4 +281,62 @@ class BankAccountTest {
                 .contains("true");
     }
 
-}
\ No newline at end of file
+    @Test
+    @DisplayName("Should restore account from stored key and cents")
+    void shouldRestoreAccountFromStoredData() {
+        BankAccount account = BankAccount.restore(42, "John Doe", 123_45, false);
+
+        assertThat(account.getAccountNumber()).isEqualTo("ACC-000042");
+        assertThat(account.getBalanceCents()).isEqualTo(123_45);
+        assertThat(account.isActive()).isFalse();
+        assertThat(account).isEqualTo(new BankAccount("ACC-000042", "John Doe"));
+    }
+
+    @Test
+    @DisplayName("Should report reason of rejected withdrawal")
+    void shouldReportRejectionReason() {
+        BankAccount account = new BankAccount("ACC-123456", "John Doe", 100.0);
+
+        assertThatThrownBy(() -> account.withdraw(200.0))
+                .isInstanceOfSatisfying(TransactionRejectedException.class,
+                        e -> assertThat(e.getReason()).isEqualTo(RejectionReason.INSUFFICIENT_FUNDS));
+        assertThatThrownBy(() -> account.deposit(-1.0))
+                .isInstanceOfSatisfying(TransactionRejectedException.class,
+                        e -> assertThat(e.getReason()).isEqualTo(RejectionReason.INVALID_AMOUNT));
+        assertThatThrownBy(() -> account.transfer(account, 1.0))
+                .isInstanceOfSatisfying(TransactionRejectedException.class,
+                        e -> assertThat(e.getReason()).isEqualTo(RejectionReason.SAME_ACCOUNT));
+    }
+
+    @Test
+    @DisplayName("Should return status instead of throwing from tryWithdraw")
+    void shouldReturnStatusFromTryWithdraw() {
+        BankAccount account = new BankAccount("ACC-123456", "John Doe", 100.0);
+
+        assertThat(account.tryWithdraw(150.0)).isEqualTo(TransactionStatus.INSUFFICIENT_FUNDS);
+        assertThat(account.tryWithdraw(0.0)).isEqualTo(TransactionStatus.INVALID_AMOUNT);
+        assertThat(account.getBalance()).isEqualTo(100.0);
+
+        assertThat(account.tryWithdraw(40.0)).isEqualTo(TransactionStatus.COMPLETED);
+        assertThat(account.getBalance()).isEqualTo(60.0);
+    }
+
+    @Test
+    @DisplayName("Should return status instead of throwing from tryTransfer")
+    void shouldReturnStatusFromTryTransfer() {
+        BankAccount source = new BankAccount("ACC-123456", "John Doe", 100.0);
+        BankAccount target = new BankAccount("ACC-654321", "Jane Doe", 0.0);
+
+        assertThat(source.tryTransfer(target, 100.01)).isEqualTo(TransactionStatus.INSUFFICIENT_FUNDS);
+        assertThat(source.tryTransfer(source, 1.0)).isEqualTo(TransactionStatus.SAME_ACCOUNT);
+        assertThat(source.tryTransfer(target, -1.0)).isEqualTo(TransactionStatus.INVALID_AMOUNT);
+        assertThat(source.tryTransfer(target, 30.0)).isEqualTo(TransactionStatus.COMPLETED);
+
+        assertThat(source.getBalance()).isEqualTo(70.0);
+        assertThat(target.getBalance()).isEqualTo(30.0);
+        assertThatThrownBy(() -> source.tryTransfer(null, 1.0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Target account cannot be null");
+    }
+
+}
@@ -0,0 +1,151 @@
+package com.vbforge;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Bank Batch Transfer Tests")
+class BankBatchTransferTest {
+
+    private Bank bank;
+    private BankAccount john;
+    private BankAccount jane;
+    private SavingsAccount bob;
+
+    @BeforeEach
+    void setUp() {
+        bank = new Bank(10);
+        john = new BankAccount("ACC-123456", "John Doe", 1000.0);
+        jane = new BankAccount("ACC-654321", "Jane Doe", 2000.0);
+        bob = new SavingsAccount("ACC-111111", "Bob Smith", 5000.0, 5.0, 500);
+        bank.addAccount(john);
+        bank.addAccount(jane);
+        bank.addAccount(bob);
+    }
+
+    @Test
+    @DisplayName("Should apply all transfers of batch")
+    void shouldApplyAllTransfers() {
+        bank.transferBatch(new Transfer[]{
+                new Transfer("ACC-123456", "ACC-654321", 100.0),
+                new Transfer("ACC-111111", "ACC-123456", 250.5),
+                new Transfer("ACC-654321", "ACC-111111", 50.0)
+        });
+
+        assertThat(john.getBalance()).isEqualTo(1150.5);
+        assertThat(jane.getBalance()).isEqualTo(2050.0);
+        assertThat(bob.getBalance()).isEqualTo(4799.5);
+        assertThat(bank.getTotalBankBalance()).isEqualTo(8000.0);
+    }
+
+    @Test
+    @DisplayName("Should net opposing transfers before checking funds")
+    void shouldNetOpposingTransfers() {
+        // John can't send 1500 on its own, but receives 1000 back in the same batch
+        bank.transferBatch(new Transfer[]{
+                new Transfer("ACC-123456", "ACC-654321", 1500.0),
+                new Transfer("ACC-654321", "ACC-123456", 1000.0)
+        });
+
+        assertThat(john.getBalance()).isEqualTo(500.0);
+        assertThat(jane.getBalance()).isEqualTo(2500.0);
+    }
+
+    @Test
+    @DisplayName("Should reject whole batch when one account lacks funds")
+    void shouldRejectWholeBatchOnInsufficientFunds() {
+        assertThatThrownBy(() -> bank.transferBatch(new Transfer[]{
+                new Transfer("ACC-654321", "ACC-111111", 100.0),
+                new Transfer("ACC-123456", "ACC-654321", 600.0),
+                new Transfer("ACC-123456", "ACC-111111", 600.0)
+        }))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("ACC-123456")
+                .hasMessageContaining("Insufficient funds");
+
+        assertThat(john.getBalance()).isEqualTo(1000.0);
+        assertThat(jane.getBalance()).isEqualTo(2000.0);
+        assertThat(bob.getBalance()).isEqualTo(5000.0);
+    }
+
+    @Test
+    @DisplayName("Should apply minimum balance rule to net debit")
+    void shouldApplyMinimumBalanceRule() {
+        assertThatThrownBy(() -> bank.transferBatch(new Transfer[]{
+                new Transfer("ACC-111111", "ACC-123456", 4000.0),
+                new Transfer("ACC-111111", "ACC-654321", 600.0)
+        }))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Withdrawal would violate minimum balance");
+
+        assertThat(bob.getBalance()).isEqualTo(5000.0);
+    }
+
+    @Test
+    @DisplayName("Should reject invalid instruction with its position")
+    void shouldRejectInvalidInstruction() {
+        assertThatThrownBy(() -> bank.transferBatch(new Transfer[]{
+                new Transfer("ACC-123456", "ACC-654321", 1.0),
+                new Transfer("ACC-123456", "ACC-999999", 1.0)
+        }))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("transfer #1")
+                .hasMessageContaining("Account not found: ACC-999999");
+        assertThatThrownBy(() -> bank.transferBatch(new Transfer[]{new Transfer("ACC-123456", "ACC-123456", 1.0)}))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Cannot transfer to the same account");
+        assertThatThrownBy(() -> bank.transferBatch(new Transfer[]{new Transfer("ACC-123456", "ACC-654321", 0.0)}))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Transfer amount must be positive");
+        assertThatThrownBy(() -> bank.transferBatch(null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Transfer batch cannot be null");
+
+        assertThat(john.getBalance()).isEqualTo(1000.0);
+    }
+
+    @Test
+    @DisplayName("Should reject batch whose net amount of an account overflows")
+    void shouldRejectOverflowingNetAmount() {
+        BankMetrics metrics = bank.enableMetrics();
+
+        assertThatThrownBy(() -> bank.transferBatch(new Transfer[]{
+                new Transfer("ACC-123456", "ACC-654321", 5e16),
+                new Transfer("ACC-123456", "ACC-111111", 5e16)
+        }))
+                .isInstanceOfSatisfying(TransactionRejectedException.class,
+                        e -> assertThat(e.getReason()).isEqualTo(RejectionReason.BALANCE_OVERFLOW))
+                .hasMessageContaining("transfer #1");
+
+        assertThat(metrics.snapshot().rejections(RejectionReason.BALANCE_OVERFLOW)).isEqualTo(1);
+        assertThat(bank.getTotalBankBalance()).isEqualTo(8000.0);
+    }
+
+    @Test
+    @DisplayName("Should accept empty batch")
+    void shouldAcceptEmptyBatch() {
+        assertThatNoException().isThrownBy(() -> bank.transferBatch(new Transfer[0]));
+        assertThat(bank.getTotalBankBalance()).isEqualTo(8000.0);
+    }
+
+    @Test
+    @DisplayName("Should apply large batch")
+    void shouldApplyLargeBatch() {
+        Bank large = new Bank(1000);
+        for (int i = 0; i < 1000; i++) {
+            large.addAccount(new BankAccount(String.format("ACC-%06d", i), "Owner", 100.0));
+        }
+        Transfer[] batch = new Transfer[100_000];
+        for (int i = 0; i < batch.length; i++) {
+            batch[i] = new Transfer(String.format("ACC-%06d", i % 1000), String.format("ACC-%06d", (i + 1) % 1000), 1.0);
+        }
+
+        large.transferBatch(batch);
+
+        assertThat(large.getTotalBankBalance()).isEqualTo(100_000.0);
+        assertThat(large.findAccount("ACC-000000").getBalance()).isEqualTo(100.0);
+    }
+
+}
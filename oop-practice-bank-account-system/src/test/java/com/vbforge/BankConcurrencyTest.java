@@ -0,0 +1,242 @@
+package com.vbforge;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Bank Concurrency Tests")
+class BankConcurrencyTest {
+
+    private static final int THREADS = Math.max(4, Runtime.getRuntime().availableProcessors());
+    private static final int ACCOUNTS = 50;
+    private static final int TRANSFERS_PER_THREAD = 20_000;
+
+    @Test
+    @Timeout(value = 60, unit = TimeUnit.SECONDS)
+    @DisplayName("Should keep total balance invariant under concurrent random transfers")
+    void shouldKeepTotalBalanceUnderConcurrentTransfers() throws Exception {
+        Bank bank = new Bank(ACCOUNTS);
+        for (int i = 0; i < ACCOUNTS; i++) {
+            bank.addAccount(new BankAccount(String.format("ACC-%06d", i), "Owner " + i, 1000.0));
+        }
+        double totalBefore = bank.getTotalBankBalance();
+        AtomicInteger rejected = new AtomicInteger();
+
+        runConcurrently(() -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            for (int i = 0; i < TRANSFERS_PER_THREAD; i++) {
+                int from = random.nextInt(ACCOUNTS);
+                int to = random.nextInt(ACCOUNTS);
+                if (from == to) {
+                    continue;
+                }
+                try {
+                    bank.transfer(String.format("ACC-%06d", from), String.format("ACC-%06d", to),
+                            random.nextInt(1, 200));
+                } catch (IllegalArgumentException e) {
+                    rejected.incrementAndGet(); //insufficient funds is an expected outcome
+                }
+            }
+        });
+
+        assertThat(bank.getTotalBankBalance()).isEqualTo(totalBefore);
+        for (int i = 0; i < ACCOUNTS; i++) {
+            assertThat(bank.findAccount(String.format("ACC-%06d", i)).getBalance()).isNotNegative();
+        }
+    }
+
+    @Test
+    @Timeout(value = 60, unit = TimeUnit.SECONDS)
+    @DisplayName("Should not deadlock on opposite transfers between same accounts")
+    void shouldNotDeadlockOnOppositeTransfers() throws Exception {
+        BankAccount first = new BankAccount("ACC-000001", "First", 1_000_000.0);
+        BankAccount second = new BankAccount("ACC-000002", "Second", 1_000_000.0);
+
+        runConcurrently(() -> {
+            boolean forward = ThreadLocalRandom.current().nextBoolean();
+            for (int i = 0; i < TRANSFERS_PER_THREAD; i++) {
+                if ((i % 2 == 0) == forward) {
+                    first.transfer(second, 1.0);
+                } else {
+                    second.transfer(first, 1.0);
+                }
+            }
+        });
+
+        assertThat(first.getBalance() + second.getBalance()).isEqualTo(2_000_000.0);
+    }
+
+    @Test
+    @Timeout(value = 60, unit = TimeUnit.SECONDS)
+    @DisplayName("Should never let concurrent withdrawals overdraw account")
+    void shouldNotOverdrawUnderConcurrentWithdrawals() throws Exception {
+        SavingsAccount account = new SavingsAccount("ACC-000003", "Saver", 10_000.0, 5.0, 1000);
+        AtomicInteger succeeded = new AtomicInteger();
+
+        runConcurrently(() -> {
+            for (int i = 0; i < 10_000; i++) {
+                try {
+                    account.withdraw(1.0);
+                    succeeded.incrementAndGet();
+                } catch (IllegalArgumentException e) {
+                    //minimum balance reached
+                }
+            }
+        });
+
+        assertThat(succeeded.get()).isEqualTo(9000);
+        assertThat(account.getBalance()).isEqualTo(1000.0);
+    }
+
+    @Test
+    @Timeout(value = 60, unit = TimeUnit.SECONDS)
+    @DisplayName("Should add accounts concurrently without losing any")
+    void shouldAddAccountsConcurrently() throws Exception {
+        Bank bank = new Bank(THREADS * 1000);
+        AtomicInteger nextKey = new AtomicInteger();
+
+        runConcurrently(() -> {
+            for (int i = 0; i < 1000; i++) {
+                int key = nextKey.getAndIncrement();
+                assertThat(bank.addAccount(new BankAccount(String.format("ACC-%06d", key), "Owner", 1.0))).isTrue();
+            }
+        });
+
+        assertThat(bank.getActiveAccountsCount()).isEqualTo(THREADS * 1000);
+        assertThat(bank.getAccountsByOwner("Owner")).hasSize(THREADS * 1000);
+    }
+
+    @Test
+    @Timeout(value = 60, unit = TimeUnit.SECONDS)
+    @DisplayName("Should keep running aggregates consistent under concurrent mixed operations")
+    void shouldKeepAggregatesConsistentUnderConcurrentOperations() throws Exception {
+        Bank bank = new Bank(ACCOUNTS);
+        for (int i = 0; i < ACCOUNTS; i++) {
+            bank.addAccount(i % 2 == 0
+                    ? new BankAccount(String.format("ACC-%06d", i), "Owner " + i, 1000.0)
+                    : new SavingsAccount(String.format("ACC-%06d", i), "Owner " + i, 1000.0, 5.0, 100));
+        }
+
+        runConcurrently(() -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            for (int i = 0; i < 5_000; i++) {
+                BankAccount account = bank.findAccount(String.format("ACC-%06d", random.nextInt(ACCOUNTS)));
+                try {
+                    switch (random.nextInt(5)) {
+                        case 0 -> account.deposit(1 + random.nextInt(100));
+                        case 1 -> account.withdraw(1 + random.nextInt(100));
+                        case 2 -> bank.transfer(account.getAccountNumber(),
+                                String.format("ACC-%06d", random.nextInt(ACCOUNTS)), 1 + random.nextInt(100));
+                        case 3 -> {
+                            if (random.nextBoolean()) {
+                                account.activateAccount();
+                            } else {
+                                account.deactivateAccount();
+                            }
+                        }
+                        default -> bank.processMonthlyInterest();
+                    }
+                } catch (IllegalArgumentException expected) {
+                    //insufficient funds, same account transfer
+                }
+            }
+        });
+
+        assertThat(bank.aggregatesConsistent()).isTrue();
+    }
+
+    @Test
+    @Timeout(value = 60, unit = TimeUnit.SECONDS)
+    @DisplayName("Should apply concurrently retried transfer ids exactly once")
+    void shouldApplyConcurrentRetriesOnce() throws Exception {
+        Bank bank = new Bank(2);
+        BankAccount source = new BankAccount("ACC-000001", "Source", 1_000_000.0);
+        BankAccount target = new BankAccount("ACC-000002", "Target", 0.0);
+        bank.addAccount(source);
+        bank.addAccount(target);
+        AtomicInteger applied = new AtomicInteger();
+
+        runConcurrently(() -> {
+            for (int i = 0; i < 2_000; i++) {
+                if (bank.transferOnce("tx-" + i, "ACC-000001", "ACC-000002", 1.0)) {
+                    applied.incrementAndGet();
+                }
+            }
+        });
+
+        assertThat(applied.get()).isEqualTo(2_000);
+        assertThat(target.getBalance()).isEqualTo(2_000.0);
+    }
+
+    @Test
+    @Timeout(value = 60, unit = TimeUnit.SECONDS)
+    @DisplayName("Should not lose or create money when accounts are closed during transfers")
+    void shouldKeepMoneyWhenAccountsAreRemovedDuringTransfers() throws Exception {
+        Bank bank = new Bank(ACCOUNTS * 4);
+        for (int i = 0; i < ACCOUNTS * 4; i++) {
+            bank.addAccount(new BankAccount(String.format("ACC-%06d", i), "Owner " + i, 1000.0));
+        }
+        long totalBefore = bank.getTotalBankBalanceCents();
+        LongAdder closedCents = new LongAdder();      //balances of closed accounts at the moment they were closed
+        AtomicInteger nextToClose = new AtomicInteger();
+
+        runConcurrently(() -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            for (int i = 0; i < TRANSFERS_PER_THREAD; i++) {
+                if (i % 100 == 0 && nextToClose.get() < ACCOUNTS * 3) {
+                    BankAccount closed = bank.removeAccount(String.format("ACC-%06d", nextToClose.getAndIncrement()));
+                    if (closed != null) {
+                        closedCents.add(closed.getBalanceCents());
+                    }
+                }
+                String from = String.format("ACC-%06d", random.nextInt(ACCOUNTS * 4));
+                String to = String.format("ACC-%06d", random.nextInt(ACCOUNTS * 4));
+                if (i % 2 == 0) {
+                    bank.tryTransfer(from, to, random.nextInt(1, 200));
+                } else {
+                    try {
+                        bank.transfer(from, to, random.nextInt(1, 200));
+                    } catch (IllegalArgumentException e) {
+                        //closed account, same account or insufficient funds are expected outcomes
+                    }
+                }
+            }
+        });
+
+        assertThat(bank.getTotalBankBalanceCents() + closedCents.sum()).isEqualTo(totalBefore);
+        assertThat(bank.aggregatesConsistent()).isTrue();
+    }
+
+    private static void runConcurrently(Runnable task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            Future<?>[] futures = new Future<?>[THREADS];
+            for (int t = 0; t < THREADS; t++) {
+                futures[t] = executor.submit(() -> {
+                    start.await();
+                    task.run();
+                    return null;
+                });
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+}
@@ -0,0 +1,152 @@
+package com.vbforge;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Bank Balance History Tests")
+class BankHistoryTest {
+
+    private static final Instant START = Instant.parse("2024-01-01T00:00:00Z");
+
+    private TestClock clock;
+    private Bank bank;
+
+    @BeforeEach
+    void setUp() {
+        clock = new TestClock(START);
+        bank = new Bank(10);
+        bank.addAccount(new BankAccount("ACC-123456", "John Doe", 1000.0));
+        bank.addAccount(new SavingsAccount("ACC-111111", "Bob Smith", 5000.0, 5.0, 500));
+        bank.enableHistory(clock);
+    }
+
+    @Test
+    @DisplayName("Should answer balance as of past times")
+    void shouldAnswerBalanceAsOf() {
+        clock.advance(1000);
+        bank.findAccount("ACC-123456").deposit(100.0);
+        clock.advance(1000);
+        bank.transfer("ACC-123456", "ACC-111111", 300.0);
+        clock.advance(1000);
+
+        assertThat(bank.getBalanceAsOf("ACC-123456", START)).isEqualTo(1000.0);
+        assertThat(bank.getBalanceAsOf("ACC-123456", START.plusMillis(1500))).isEqualTo(1100.0);
+        assertThat(bank.getBalanceAsOf("ACC-123456", START.plusMillis(2000))).isEqualTo(800.0);
+        assertThat(bank.getBalanceAsOf("ACC-111111", START.plusMillis(1999))).isEqualTo(5000.0);
+        assertThat(bank.getBalanceAsOf("ACC-111111", clock.instant())).isEqualTo(5300.0);
+    }
+
+    @Test
+    @DisplayName("Should replay from checkpoints over long history")
+    void shouldReplayFromCheckpoints() {
+        BankAccount account = bank.findAccount("ACC-123456");
+        long[] expected = new long[1000];
+        for (int i = 0; i < expected.length; i++) {
+            clock.advance(10);
+            account.deposit(1.0 + i % 7);
+            expected[i] = account.getBalanceCents();
+        }
+
+        for (int i = 0; i < expected.length; i++) {
+            assertThat(bank.getBalanceCentsAsOf("ACC-123456", START.plusMillis(10L * (i + 1) + 5)))
+                    .isEqualTo(expected[i]);
+        }
+    }
+
+    @Test
+    @DisplayName("Should return all balances as of given time")
+    void shouldReturnAllBalancesAsOf() {
+        clock.advance(1000);
+        bank.transfer("ACC-111111", "ACC-123456", 500.0);
+        clock.advance(1000);
+        bank.addAccount(new BankAccount("ACC-654321", "Jane Doe", 10.0));
+
+        assertThat(bank.getBalancesAsOf(START.plusMillis(500)))
+                .containsExactly(Map.entry("ACC-111111", 5000.0), Map.entry("ACC-123456", 1000.0));
+        assertThat(bank.getBalancesAsOf(clock.instant()))
+                .containsEntry("ACC-111111", 4500.0)
+                .containsEntry("ACC-123456", 1500.0)
+                .containsEntry("ACC-654321", 10.0);
+    }
+
+    @Test
+    @DisplayName("Should keep history of closed and reopened accounts")
+    void shouldKeepHistoryOfClosedAccounts() {
+        clock.advance(1000);
+        bank.removeAccount("ACC-123456");
+        clock.advance(1000);
+        bank.addAccount(new BankAccount("ACC-123456", "John Doe", 50.0));
+
+        assertThat(bank.getBalanceAsOf("ACC-123456", START.plusMillis(500))).isEqualTo(1000.0);
+        assertThat(bank.getBalanceAsOf("ACC-123456", START.plusMillis(1500))).isZero();
+        assertThat(bank.getBalanceAsOf("ACC-123456", clock.instant())).isEqualTo(50.0);
+    }
+
+    @Test
+    @DisplayName("Should reject queries outside recorded history")
+    void shouldRejectQueriesOutsideHistory() {
+        assertThatThrownBy(() -> bank.getBalanceAsOf("ACC-123456", START.minusMillis(1)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("No balance history");
+        assertThatThrownBy(() -> bank.getBalanceAsOf("ACC-999999", START))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new Bank(1).getBalancesAsOf(START))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("Balance history is not enabled.");
+        assertThatThrownBy(() -> bank.enableHistory(clock))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("Should keep delta order when clock goes backwards")
+    void shouldKeepOrderWhenClockGoesBackwards() {
+        BalanceHistory history = new BalanceHistory("ACC-000001", 0, clock);
+        clock.advance(100);
+        history.record(500);
+        clock.advance(-50);
+        history.record(-200);
+
+        assertThat(history.size()).isEqualTo(2);
+        assertThat(history.balanceCentsAsOf(START.toEpochMilli() + 99)).isZero();
+        assertThat(history.balanceCentsAsOf(START.toEpochMilli() + 100)).isEqualTo(300);
+    }
+
+    //clock moved by hand, so history timestamps are deterministic
+    private static final class TestClock extends Clock {
+
+        private Instant now;
+
+        TestClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(long millis) {
+            now = now.plusMillis(millis);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+
+}
@@ -0,0 +1,325 @@
+package com.vbforge;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Bank Journal Tests")
+class BankJournalTest {
+
+    private static final long GROUP_COMMIT_MILLIS = 10;
+
+    @TempDir
+    Path directory;
+
+    private final List<Bank> opened = new ArrayList<>();
+
+    @AfterEach
+    void closeJournals() throws IOException {
+        for (Bank bank : opened) {
+            bank.closeJournal();
+        }
+    }
+
+    @Test
+    @DisplayName("Should recover accounts, balances and status from journal")
+    void shouldRecoverFromJournal() throws IOException {
+        Path file = directory.resolve("bank.journal");
+        Bank bank = journaled(file);
+        BankAccount checking = new BankAccount("ACC-123456", "John Doe", 1000.0);
+        SavingsAccount savings = new SavingsAccount("ACC-111111", "Bob Smith", 5000.0, 5.0, 500);
+        bank.addAccount(checking);
+        bank.addAccount(savings);
+
+        checking.deposit(250.25);
+        savings.withdraw(100.0);
+        bank.transfer("ACC-111111", "ACC-123456", 400.0);
+        bank.processMonthlyInterest();
+        checking.deactivateAccount();
+        bank.closeJournal();
+
+        Bank recovered = recover(file);
+
+        assertThat(recovered.findAccount("ACC-123456").getBalanceCents()).isEqualTo(checking.getBalanceCents());
+        assertThat(recovered.findAccount("ACC-123456").isActive()).isFalse();
+        assertThat(recovered.findAccount("ACC-111111")).isInstanceOf(SavingsAccount.class);
+        SavingsAccount restored = (SavingsAccount) recovered.findAccount("ACC-111111");
+        assertThat(restored.getBalanceCents()).isEqualTo(savings.getBalanceCents());
+        assertThat(restored.getInterestRate()).isEqualTo(5.0);
+        assertThat(restored.getMinimumBalance()).isEqualTo(500);
+    }
+
+    @Test
+    @DisplayName("Should recover transfer batch")
+    void shouldRecoverTransferBatch() throws IOException {
+        Path file = directory.resolve("bank.journal");
+        Bank bank = journaled(file);
+        bank.addAccount(new BankAccount("ACC-000001", "First", 100.0));
+        bank.addAccount(new BankAccount("ACC-000002", "Second", 100.0));
+
+        bank.transferBatch(new Transfer[]{
+                new Transfer("ACC-000001", "ACC-000002", 30.0),
+                new Transfer("ACC-000002", "ACC-000001", 5.0)
+        });
+        bank.closeJournal();
+
+        Bank recovered = recover(file);
+        assertThat(recovered.findAccount("ACC-000001").getBalance()).isEqualTo(75.0);
+        assertThat(recovered.findAccount("ACC-000002").getBalance()).isEqualTo(125.0);
+    }
+
+    @Test
+    @DisplayName("Should include accounts added before journal was enabled")
+    void shouldIncludeExistingAccounts() throws IOException {
+        Path file = directory.resolve("bank.journal");
+        Bank bank = new Bank(10);
+        bank.addAccount(new BankAccount("ACC-000001", "Early Owner", 10.0));
+        bank.enableJournal(file, GROUP_COMMIT_MILLIS);
+        opened.add(bank);
+
+        bank.findAccount("ACC-000001").deposit(5.0);
+        bank.closeJournal();
+
+        assertThat(recover(file).findAccount("ACC-000001").getBalance()).isEqualTo(15.0);
+    }
+
+    @Test
+    @DisplayName("Should continue journaling after recovery")
+    void shouldContinueJournalingAfterRecovery() throws IOException {
+        Path file = directory.resolve("bank.journal");
+        Bank bank = journaled(file);
+        bank.addAccount(new BankAccount("ACC-000001", "Owner", 10.0));
+        bank.closeJournal();
+
+        Bank recovered = recover(file);
+        recovered.findAccount("ACC-000001").deposit(1.0);
+        recovered.addAccount(new BankAccount("ACC-000002", "Other", 2.0));
+        recovered.closeJournal();
+
+        Bank again = recover(file);
+        assertThat(again.getTotalBankBalance()).isEqualTo(13.0);
+    }
+
+    @Test
+    @DisplayName("Should not recover removed account")
+    void shouldNotRecoverRemovedAccount() throws IOException {
+        Path file = directory.resolve("bank.journal");
+        Bank bank = journaled(file);
+        bank.addAccount(new BankAccount("ACC-000001", "First", 10.0));
+        bank.addAccount(new BankAccount("ACC-000002", "Second", 20.0));
+        bank.addAccount(new BankAccount("ACC-000003", "Third", 30.0));
+        bank.removeAccount("ACC-000001");
+        bank.findAccount("ACC-000003").deposit(5.0);
+        bank.closeJournal();
+
+        Bank recovered = recover(file);
+        assertThat(recovered.size()).isEqualTo(2);
+        assertThat(recovered.findAccount("ACC-000001")).isNull();
+        assertThat(recovered.getTotalBankBalance()).isEqualTo(55.0);
+    }
+
+    @Test
+    @DisplayName("Should compact journal on checkpoint")
+    void shouldCompactJournalOnCheckpoint() throws IOException {
+        Path file = directory.resolve("bank.journal");
+        Bank bank = journaled(file);
+        BankAccount account = new BankAccount("ACC-000001", "Owner", 0.0);
+        bank.addAccount(account);
+        for (int i = 0; i < 10_000; i++) {
+            account.deposit(0.01);
+        }
+        long replayedBefore = countRecords(file);
+
+        bank.checkpoint();
+        account.deposit(1.0);
+        bank.closeJournal();
+
+        assertThat(replayedBefore).isGreaterThan(10_000);
+        assertThat(countRecords(file)).isEqualTo(2);
+        assertThat(recover(file).findAccount("ACC-000001").getBalance()).isEqualTo(101.0);
+        assertThat(Files.exists(directory.resolve("bank.journal.checkpoint"))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should keep changes made while journal is enabled and checkpointed")
+    void shouldKeepChangesMadeDuringCheckpoint() throws Exception {
+        Path file = directory.resolve("bank.journal");
+        Bank bank = new Bank(10);
+        BankAccount account = new BankAccount("ACC-000001", "Owner", 0.0);
+        bank.addAccount(account);
+        AtomicBoolean running = new AtomicBoolean(true);
+        Thread depositor = new Thread(() -> {
+            while (running.get()) {
+                account.deposit(0.01);
+            }
+        });
+        depositor.start();
+        try {
+            bank.enableJournal(file, GROUP_COMMIT_MILLIS);
+            opened.add(bank);
+            for (int i = 0; i < 5; i++) {
+                bank.checkpoint();
+            }
+        } finally {
+            running.set(false);
+            depositor.join();
+        }
+        bank.closeJournal();
+
+        assertThat(recover(file).findAccount("ACC-000001").getBalanceCents()).isEqualTo(account.getBalanceCents());
+        assertThat(Files.exists(directory.resolve("bank.journal.pending"))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should ignore record cut off by crash")
+    void shouldIgnoreTornRecord() throws IOException {
+        Path file = directory.resolve("bank.journal");
+        Bank bank = journaled(file);
+        BankAccount account = new BankAccount("ACC-000001", "Owner", 10.0);
+        bank.addAccount(account);
+        account.deposit(1.0);
+        account.deposit(2.0);
+        bank.closeJournal();
+
+        //clear type byte of last BALANCE record (13 bytes) as if the process died while writing it
+        long end = endOfRecords(file);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{0}), end - 13);
+        }
+
+        assertThat(recover(file).findAccount("ACC-000001").getBalance()).isEqualTo(11.0);
+    }
+
+    @Test
+    @DisplayName("Should append after torn record and recover again")
+    void shouldAppendAfterTornRecord() throws IOException {
+        Path file = directory.resolve("bank.journal");
+        Bank bank = journaled(file);
+        bank.addAccount(new BankAccount("ACC-000001", "Owner", 10.0));
+        String owner = "Owner With A Rather Long Name";
+        bank.addAccount(new BankAccount("ACC-000002", owner, 20.0));
+        bank.closeJournal();
+
+        //clear type byte of last OPEN record, its payload stays in the file as after a crash
+        int openSize = 28 + owner.length();
+        long end = endOfRecords(file);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{0}), end - openSize);
+        }
+        Bank recovered = recover(file);
+        recovered.findAccount("ACC-000001").deposit(1.0);
+        recovered.closeJournal();
+
+        Bank again = recover(file);
+        assertThat(again.findAccount("ACC-000001").getBalance()).isEqualTo(11.0);
+        assertThat(again.findAccount("ACC-000002")).isNull();
+        assertThat(again.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should continue records in next mapped segment")
+    void shouldContinueInNextSegment() throws IOException {
+        Path file = directory.resolve("small.journal");
+        try (TransactionJournal journal = TransactionJournal.create(file, GROUP_COMMIT_MILLIS, 1024)) {
+            journal.appendOpen(new BankAccount("ACC-000001", "Owner", 0.0));
+            for (int i = 0; i < 1000; i++) {
+                journal.appendBalance(1, 1);
+            }
+        }
+
+        Bank recovered = recover(file);
+        assertThat(recovered.findAccount("ACC-000001").getBalanceCents()).isEqualTo(1000);
+        assertThat(Files.size(file)).isGreaterThan(10 * 1024L);
+    }
+
+    @Test
+    @DisplayName("Should reject second journal and file that is not a journal")
+    void shouldRejectInvalidJournalUsage() throws IOException {
+        Path file = directory.resolve("bank.journal");
+        Bank bank = journaled(file);
+        Path other = Files.writeString(directory.resolve("other.txt"), "not a journal at all");
+
+        assertThatThrownBy(() -> bank.enableJournal(directory.resolve("second.journal"), GROUP_COMMIT_MILLIS))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Journal is already enabled");
+        assertThatThrownBy(() -> Bank.recover(other, 10, GROUP_COMMIT_MILLIS))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("Not a bank journal file");
+    }
+
+    private Bank journaled(Path file) throws IOException {
+        Bank bank = new Bank(100);
+        bank.enableJournal(file, GROUP_COMMIT_MILLIS);
+        opened.add(bank);
+        return bank;
+    }
+
+    private Bank recover(Path file) throws IOException {
+        Bank bank = Bank.recover(file, 100, GROUP_COMMIT_MILLIS);
+        opened.add(bank);
+        return bank;
+    }
+
+    private static long countRecords(Path file) throws IOException {
+        long[] count = new long[1];
+        TransactionJournal.replay(file, new TransactionJournal.Visitor() {
+            @Override
+            public void opened(int key, String ownerName, boolean savings, boolean active,
+                               long balanceCents, long scaledInterestRate, int minimumBalance) {
+                count[0]++;
+            }
+
+            @Override
+            public void balanceChanged(int key, long deltaCents) {
+                count[0]++;
+            }
+
+            @Override
+            public void transferred(int sourceKey, int targetKey, long cents) {
+                count[0]++;
+            }
+
+            @Override
+            public void batchApplied(int[] keys, long[] deltasCents) {
+                count[0]++;
+            }
+
+            @Override
+            public void statusChanged(int key, boolean active) {
+                count[0]++;
+            }
+
+            @Override
+            public void closed(int key) {
+                count[0]++;
+            }
+        });
+        return count[0];
+    }
+
+    private static long endOfRecords(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate((int) channel.size());
+            channel.read(buffer, 0);
+            int end = buffer.limit() - 1;
+            while (end > 0 && buffer.get(end) == 0) {
+                end--;
+            }
+            return end + 1;
+        }
+    }
+
+}
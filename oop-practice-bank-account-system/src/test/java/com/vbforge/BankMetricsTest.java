@@ -0,0 +1,156 @@
+package com.vbforge;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Bank Metrics Tests")
+class BankMetricsTest {
+
+    private Bank bank;
+
+    @BeforeEach
+    void setUp() {
+        bank = new Bank(10);
+        bank.addAccount(new BankAccount("ACC-123456", "John Doe", 1000.0));
+        bank.addAccount(new SavingsAccount("ACC-111111", "Bob Smith", 5000.0, 5.0, 500));
+    }
+
+    @Test
+    @DisplayName("Should not collect anything while metrics are off")
+    void shouldNotCollectWhileDisabled() {
+        bank.findAccount("ACC-123456");
+        bank.transfer("ACC-123456", "ACC-111111", 10.0);
+
+        BankMetrics.Snapshot snapshot = bank.getMetrics().snapshot();
+
+        assertThat(bank.getMetrics().isEnabled()).isFalse();
+        assertThat(snapshot.count(BankMetrics.Operation.FIND_ACCOUNT)).isZero();
+        assertThat(snapshot.count(BankMetrics.Operation.TRANSFER)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should count measured operations")
+    void shouldCountOperations() {
+        BankMetrics metrics = bank.enableMetrics();
+
+        bank.findAccount("ACC-123456");
+        bank.findAccount("ACC-999999");
+        bank.transfer("ACC-123456", "ACC-111111", 10.0);
+        bank.transferBatch(new Transfer[]{new Transfer("ACC-111111", "ACC-123456", 5.0)});
+        bank.processMonthlyInterest();
+        bank.generateAccountReport();
+        bank.addAccount(new BankAccount("ACC-654321", "Jane Doe", 10.0));
+        bank.removeAccount("ACC-654321");
+
+        BankMetrics.Snapshot snapshot = metrics.snapshot();
+        assertThat(snapshot.count(BankMetrics.Operation.FIND_ACCOUNT)).isEqualTo(2);
+        assertThat(snapshot.count(BankMetrics.Operation.ADD_ACCOUNT)).isEqualTo(1);
+        assertThat(snapshot.count(BankMetrics.Operation.REMOVE_ACCOUNT)).isEqualTo(1);
+        assertThat(snapshot.count(BankMetrics.Operation.TRANSFER)).isEqualTo(1);
+        assertThat(snapshot.count(BankMetrics.Operation.TRANSFER_BATCH)).isEqualTo(1);
+        assertThat(snapshot.count(BankMetrics.Operation.MONTHLY_INTEREST)).isEqualTo(1);
+        assertThat(snapshot.count(BankMetrics.Operation.ACCOUNT_REPORT)).isEqualTo(1);
+        assertThat(snapshot.maxNanos(BankMetrics.Operation.TRANSFER)).isPositive();
+        assertThat(snapshot.percentileNanos(BankMetrics.Operation.TRANSFER, 50.0))
+                .isLessThanOrEqualTo(snapshot.percentileNanos(BankMetrics.Operation.TRANSFER, 99.0));
+    }
+
+    @Test
+    @DisplayName("Should count rejections by reason")
+    void shouldCountRejectionsByReason() {
+        BankMetrics metrics = bank.enableMetrics();
+
+        assertThatThrownBy(() -> bank.transfer("ACC-123456", "ACC-111111", 2000.0))
+                .isInstanceOf(TransactionRejectedException.class);
+        assertThatThrownBy(() -> bank.transfer("ACC-111111", "ACC-123456", 4600.0))
+                .isInstanceOf(TransactionRejectedException.class);
+        assertThatThrownBy(() -> bank.transfer("ACC-111111", "ACC-000000", 1.0))
+                .isInstanceOf(TransactionRejectedException.class);
+        assertThatThrownBy(() -> bank.transferBatch(new Transfer[]{new Transfer("ACC-123456", "ACC-111111", 5000.0)}))
+                .isInstanceOf(TransactionRejectedException.class);
+
+        BankMetrics.Snapshot snapshot = metrics.snapshot();
+        assertThat(snapshot.rejections(RejectionReason.INSUFFICIENT_FUNDS)).isEqualTo(2);
+        assertThat(snapshot.rejections(RejectionReason.MINIMUM_BALANCE)).isEqualTo(1);
+        assertThat(snapshot.rejections(RejectionReason.ACCOUNT_NOT_FOUND)).isEqualTo(1);
+        assertThat(snapshot.count(BankMetrics.Operation.TRANSFER)).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should count declined withdrawals by reason")
+    void shouldCountDeclinedWithdrawals() {
+        BankMetrics metrics = bank.enableMetrics();
+        BankAccount checking = bank.findAccount("ACC-123456");
+        BankAccount savings = bank.findAccount("ACC-111111");
+
+        assertThatThrownBy(() -> checking.withdraw(1000.01))
+                .isInstanceOf(TransactionRejectedException.class);
+        assertThatThrownBy(() -> savings.withdraw(4500.01))
+                .isInstanceOf(TransactionRejectedException.class);
+        assertThatThrownBy(() -> savings.withdraw(-1.0))
+                .isInstanceOf(TransactionRejectedException.class);
+        assertThat(checking.tryWithdraw(1000.01)).isEqualTo(TransactionStatus.INSUFFICIENT_FUNDS);
+        assertThat(savings.tryWithdraw(4500.01)).isEqualTo(TransactionStatus.MINIMUM_BALANCE);
+        assertThat(checking.tryWithdraw(0.001)).isEqualTo(TransactionStatus.INVALID_AMOUNT);
+        checking.withdraw(1.0);
+        assertThat(checking.tryWithdraw(1.0)).isEqualTo(TransactionStatus.COMPLETED);
+
+        BankMetrics.Snapshot snapshot = metrics.snapshot();
+        assertThat(snapshot.rejections(RejectionReason.INSUFFICIENT_FUNDS)).isEqualTo(2);
+        assertThat(snapshot.rejections(RejectionReason.MINIMUM_BALANCE)).isEqualTo(2);
+        assertThat(snapshot.rejections(RejectionReason.INVALID_AMOUNT)).isEqualTo(2);
+        assertThat(checking.getBalance()).isEqualTo(998.0);
+    }
+
+    @Test
+    @DisplayName("Should keep collected values after metrics are turned off")
+    void shouldKeepValuesAfterDisable() {
+        BankMetrics metrics = bank.enableMetrics();
+        bank.findAccount("ACC-123456");
+
+        bank.disableMetrics();
+        bank.findAccount("ACC-123456");
+
+        assertThat(metrics.snapshot().count(BankMetrics.Operation.FIND_ACCOUNT)).isEqualTo(1);
+        assertThat(bank.getMetrics().isEnabled()).isFalse();
+        assertThat(bank.enableMetrics()).isNotSameAs(metrics);
+    }
+
+    @ParameterizedTest
+    @ValueSource(longs = {0, 1, 15, 16, 17, 100, 1_000, 123_456, 10_000_000_000L, Long.MAX_VALUE})
+    @DisplayName("Should place value in bucket whose range contains it within 1/16")
+    void shouldPlaceValueInMatchingBucket(long value) {
+        int bucket = LatencyHistogram.bucketOf(value);
+        long highest = LatencyHistogram.highestValueIn(bucket);
+
+        assertThat(bucket).isBetween(0, LatencyHistogram.BUCKETS - 1);
+        assertThat(highest).isGreaterThanOrEqualTo(value);
+        assertThat(highest - value).isLessThanOrEqualTo(Math.max(0, value / 16));
+        if (bucket > 0) {
+            assertThat(LatencyHistogram.highestValueIn(bucket - 1)).isLessThan(value);
+        }
+    }
+
+    @Test
+    @DisplayName("Should compute percentiles from recorded values")
+    void shouldComputePercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long value = 1; value <= 1000; value++) {
+            histogram.record(value * 1000);
+        }
+
+        long[] counts = histogram.copyCounts();
+
+        assertThat(LatencyHistogram.valueAtPercentile(counts, 50.0)).isCloseTo(500_000L, withinPercentage(7));
+        assertThat(LatencyHistogram.valueAtPercentile(counts, 99.0)).isCloseTo(990_000L, withinPercentage(7));
+        assertThat(LatencyHistogram.valueAtPercentile(counts, 100.0)).isGreaterThanOrEqualTo(1_000_000L);
+        assertThat(LatencyHistogram.maxOf(counts)).isCloseTo(1_000_000L, withinPercentage(7));
+        assertThat(LatencyHistogram.valueAtPercentile(new long[LatencyHistogram.BUCKETS], 99.0)).isZero();
+    }
+
+}
@@ -0,0 +1,143 @@
+package com.vbforge;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Bank Snapshot Tests")
+class BankSnapshotTest {
+
+    @TempDir
+    Path directory;
+
+    private Path file;
+    private Bank bank;
+
+    @BeforeEach
+    void setUp() {
+        file = directory.resolve("bank.snapshot");
+        bank = new Bank();
+        bank.addAccount(new BankAccount("ACC-654321", "Jane Doe", 2000.55));
+        bank.addAccount(new SavingsAccount("ACC-111111", "Bob Smith", 5000.0, 5.25, 500));
+        bank.addAccount(new BankAccount("ACC-123456", "Jürgen Müller", 10.0));
+        bank.addAccount(new BankAccount("ACC-000042", "Jane Doe", 0.0));
+        bank.findAccount("ACC-123456").deactivateAccount();
+    }
+
+    @Test
+    @DisplayName("Should restore all accounts from snapshot")
+    void shouldRestoreAllAccounts() throws IOException {
+        bank.saveSnapshot(file);
+
+        Bank loaded = Bank.loadSnapshot(file);
+
+        assertThat(loaded.size()).isEqualTo(4);
+        assertThat(loaded.getTotalBankBalanceCents()).isEqualTo(bank.getTotalBankBalanceCents());
+        assertThat(loaded.getActiveAccountsCount()).isEqualTo(3);
+        assertThat(loaded.findAccount("ACC-123456").getOwnerName()).isEqualTo("Jürgen Müller");
+        assertThat(loaded.findAccount("ACC-123456").isActive()).isFalse();
+        assertThat(loaded.getAccountsByOwner("Jane Doe")).hasSize(2);
+        SavingsAccount savings = (SavingsAccount) loaded.findAccount("ACC-111111");
+        assertThat(savings.getInterestRate()).isEqualTo(5.25);
+        assertThat(savings.getMinimumBalance()).isEqualTo(500);
+    }
+
+    @Test
+    @DisplayName("Should save consistent snapshot while transfers go on")
+    void shouldSaveConsistentSnapshotDuringTransfers() throws Exception {
+        long total = bank.getTotalBankBalanceCents();
+        AtomicBoolean running = new AtomicBoolean(true);
+        Thread transfers = new Thread(() -> {
+            while (running.get()) {
+                bank.transfer("ACC-654321", "ACC-000042", 1.0);
+                bank.transfer("ACC-000042", "ACC-654321", 1.0);
+            }
+        });
+        transfers.start();
+        try {
+            for (int i = 0; i < 20; i++) {
+                bank.saveSnapshot(file);
+                assertThat(Bank.loadSnapshot(file).getTotalBankBalanceCents()).isEqualTo(total);
+            }
+        } finally {
+            running.set(false);
+            transfers.join();
+        }
+        try (var files = Files.list(directory)) {
+            assertThat(files).containsExactly(file);
+        }
+    }
+
+    @Test
+    @DisplayName("Should read accounts lazily from mapped snapshot in account number order")
+    void shouldReadMappedSnapshot() throws IOException {
+        bank.saveSnapshot(file);
+
+        BankSnapshot snapshot = BankSnapshot.map(file);
+
+        assertThat(snapshot.size()).isEqualTo(4);
+        assertThat(snapshot.getAccount(0).getAccountNumber()).isEqualTo("ACC-000042");
+        assertThat(snapshot.getAccount(3).getAccountNumber()).isEqualTo("ACC-654321");
+        assertThat(snapshot.findAccount("ACC-654321").getBalanceCents()).isEqualTo(2000_55);
+        assertThat(snapshot.findAccount("ACC-111111")).isInstanceOf(SavingsAccount.class);
+        assertThat(snapshot.findAccount("ACC-999999")).isNull();
+        assertThat(snapshot.findAccount("bad")).isNull();
+        assertThatThrownBy(() -> snapshot.getAccount(4)).isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    @Test
+    @DisplayName("Should store each owner name once")
+    void shouldStoreOwnerNameOnce() throws IOException {
+        Bank sameOwner = new Bank();
+        for (int i = 0; i < 1000; i++) {
+            sameOwner.addAccount(new BankAccount(String.format("ACC-%06d", i), "Very Long Owner Name Repeated", 1.0));
+        }
+
+        sameOwner.saveSnapshot(file);
+
+        assertThat(Files.size(file)).isEqualTo(BankSnapshot.HEADER_SIZE + 1000L * BankSnapshot.RECORD_SIZE
+                + "Very Long Owner Name Repeated".length());
+        assertThat(Bank.loadSnapshot(file).getTotalBankBalance()).isEqualTo(1000.0);
+    }
+
+    @Test
+    @DisplayName("Should write empty snapshot")
+    void shouldWriteEmptySnapshot() throws IOException {
+        new Bank().saveSnapshot(file);
+
+        assertThat(Bank.loadSnapshot(file).size()).isZero();
+        assertThat(BankSnapshot.map(file).size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should reject file that is not a snapshot")
+    void shouldRejectForeignFile() throws IOException {
+        Files.write(file, new byte[64]);
+
+        assertThatThrownBy(() -> Bank.loadSnapshot(file))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("Not a bank snapshot file");
+    }
+
+    @Test
+    @DisplayName("Should reject truncated snapshot")
+    void shouldRejectTruncatedSnapshot() throws IOException {
+        bank.saveSnapshot(file);
+        byte[] content = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(content, content.length - 5));
+
+        assertThatThrownBy(() -> BankSnapshot.map(file))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("Corrupted snapshot");
+    }
+
+}
@@ -3,9 +3,18 @@ package com.vbforge;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Timeout;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
 import static org.assertj.core.api.Assertions.*;
 
 @DisplayName("Bank Tests")
@@ -122,6 +131,289 @@ class BankTest {
                 .hasMessageContaining("Account number cannot be null");
     }
 
+    @ParameterizedTest
+    @ValueSource(strings = {"", "ACC-12345", "ACC-1234567", "acc-123456", "ACC-12345A", "ACC_123456"})
+    @DisplayName("Should return null for malformed account number in find")
+    void shouldReturnNullForMalformedAccountNumber(String malformedNumber) {
+        bank.addAccount(account1);
+
+        assertThat(bank.findAccount(malformedNumber)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should find every account in large bank by number")
+    void shouldFindEveryAccountInLargeBank() {
+        Bank largeBank = new Bank(5000);
+        for (int i = 0; i < 5000; i++) {
+            assertThat(largeBank.addAccount(new BankAccount(String.format("ACC-%06d", i * 7), "Owner", 10.0))).isTrue();
+        }
+
+        for (int i = 0; i < 5000; i++) {
+            String number = String.format("ACC-%06d", i * 7);
+            assertThat(largeBank.findAccount(number).getAccountNumber()).isEqualTo(number);
+        }
+        assertThat(largeBank.findAccount("ACC-000001")).isNull();
+        assertThat(largeBank.addAccount(new BankAccount("ACC-000007", "Duplicate", 10.0))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should grow storage of unbounded bank")
+    void shouldGrowUnboundedBank() {
+        Bank unbounded = new Bank();
+        for (int i = 0; i < 3000; i++) {
+            assertThat(unbounded.addAccount(new BankAccount(String.format("ACC-%06d", i), "Owner", 1.0))).isTrue();
+        }
+
+        assertThat(unbounded.size()).isEqualTo(3000);
+        assertThat(unbounded.getTotalBankBalance()).isEqualTo(3000.0);
+        assertThat(unbounded.findAccount("ACC-002999")).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Should remove account by account number")
+    void shouldRemoveAccount() {
+        bank.addAccount(account1);
+        bank.addAccount(account2);
+        bank.addAccount(savingsAccount1);
+
+        assertThat(bank.removeAccount("ACC-123456")).isSameAs(account1);
+
+        assertThat(bank.size()).isEqualTo(2);
+        assertThat(bank.findAccount("ACC-123456")).isNull();
+        assertThat(bank.findAccount("ACC-654321")).isSameAs(account2);
+        assertThat(bank.findAccount("ACC-111111")).isSameAs(savingsAccount1);
+        assertThat(bank.getAccountsByOwner("John Doe")).isEmpty();
+        assertThat(bank.getTotalBankBalance()).isEqualTo(7000.0);
+    }
+
+    @Test
+    @DisplayName("Should return null when removing unknown account")
+    void shouldReturnNullWhenRemovingUnknownAccount() {
+        bank.addAccount(account1);
+
+        assertThat(bank.removeAccount("ACC-999999")).isNull();
+        assertThat(bank.removeAccount("bad number")).isNull();
+        assertThat(bank.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should free capacity for new account after removal")
+    void shouldFreeCapacityAfterRemoval() {
+        Bank smallBank = new Bank(2);
+        smallBank.addAccount(account1);
+        smallBank.addAccount(account2);
+
+        smallBank.removeAccount("ACC-123456");
+
+        assertThat(smallBank.addAccount(savingsAccount1)).isTrue();
+        assertThat(smallBank.addAccount(new BankAccount("ACC-123456", "John Doe", 1.0))).isFalse();
+        smallBank.removeAccount("ACC-654321");
+        assertThat(smallBank.addAccount(new BankAccount("ACC-123456", "John Doe", 1.0))).isTrue();
+        assertThat(smallBank.findAccount("ACC-123456").getBalance()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should keep lookups correct after removing most accounts")
+    void shouldKeepLookupsAfterManyRemovals() {
+        Bank largeBank = new Bank();
+        for (int i = 0; i < 5000; i++) {
+            largeBank.addAccount(new BankAccount(String.format("ACC-%06d", i), "Owner " + (i % 10), 1.0));
+        }
+
+        for (int i = 0; i < 5000; i++) {
+            if (i % 50 != 0) {
+                assertThat(largeBank.removeAccount(String.format("ACC-%06d", i))).isNotNull();
+            }
+        }
+
+        assertThat(largeBank.size()).isEqualTo(100);
+        for (int i = 0; i < 5000; i++) {
+            BankAccount found = largeBank.findAccount(String.format("ACC-%06d", i));
+            assertThat(found != null).isEqualTo(i % 50 == 0);
+        }
+        assertThat(largeBank.getAccountsByOwner("Owner 0")).hasSize(100);
+        assertThat(largeBank.getAccountsByOwner("Owner 1")).isEmpty();
+        assertThat(largeBank.getTotalBankBalance()).isEqualTo(100.0);
+    }
+
+    @Test
+    @DisplayName("Should keep running totals across account changes")
+    void shouldKeepRunningTotals() {
+        bank.addAccount(account1);
+        bank.addAccount(account2);
+        bank.addAccount(savingsAccount1);
+
+        account1.deposit(100.0);
+        account2.withdraw(50.0);
+        bank.transfer("ACC-111111", "ACC-123456", 300.0);
+        bank.processMonthlyInterest();
+        account2.deactivateAccount();
+        account2.deactivateAccount();
+        bank.removeAccount("ACC-123456");
+
+        assertThat(bank.getTotalBankBalanceCents()).isEqualTo(account2.getBalanceCents() + savingsAccount1.getBalanceCents());
+        assertThat(bank.getActiveAccountsCount()).isEqualTo(1);
+        assertThat(bank.aggregatesConsistent()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should not change running total when withdrawal is rejected")
+    void shouldNotChangeRunningTotalOnRejectedWithdrawal() {
+        bank.addAccount(savingsAccount1);
+
+        assertThatThrownBy(() -> savingsAccount1.withdraw(4900.0))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        assertThat(bank.getTotalBankBalance()).isEqualTo(5000.0);
+        assertThat(bank.aggregatesConsistent()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should apply transfer with same id only once")
+    void shouldApplyTransferOnce() {
+        bank.addAccount(account1);
+        bank.addAccount(account2);
+
+        assertThat(bank.transferOnce("tx-1", "ACC-654321", "ACC-123456", 500.0)).isTrue();
+        assertThat(bank.transferOnce("tx-1", "ACC-654321", "ACC-123456", 500.0)).isFalse();
+
+        assertThat(account1.getBalance()).isEqualTo(1500.0);
+        assertThat(account2.getBalance()).isEqualTo(1500.0);
+    }
+
+    @Test
+    @DisplayName("Should repeat rejection for retried transfer id")
+    void shouldRepeatRejectionForRetriedTransferId() {
+        bank.addAccount(account1);
+        bank.addAccount(account2);
+
+        assertThatThrownBy(() -> bank.transferOnce("tx-1", "ACC-123456", "ACC-654321", 5000.0))
+                .hasMessageContaining("Insufficient funds");
+        account1.deposit(5000.0);
+
+        assertThatThrownBy(() -> bank.transferOnce("tx-1", "ACC-123456", "ACC-654321", 5000.0))
+                .hasMessageContaining("Insufficient funds");
+        assertThat(account1.getBalance()).isEqualTo(6000.0);
+    }
+
+    @Test
+    @DisplayName("Should refuse new transfer ids instead of forgetting unexpired ones")
+    void shouldRefuseNewTransferIdsWhenLimitIsReached() {
+        Bank bank = new Bank(10, 2, 10, TimeUnit.MINUTES);
+        BankMetrics metrics = bank.enableMetrics();
+        bank.addAccount(new BankAccount("ACC-000001", "First", 100.0));
+        bank.addAccount(new BankAccount("ACC-000002", "Second", 0.0));
+        bank.transferOnce("tx-1", "ACC-000001", "ACC-000002", 10.0);
+        bank.transferOnce("tx-2", "ACC-000001", "ACC-000002", 10.0);
+
+        assertThatThrownBy(() -> bank.transferOnce("tx-3", "ACC-000001", "ACC-000002", 10.0))
+                .isInstanceOfSatisfying(TransactionRejectedException.class,
+                        e -> assertThat(e.getReason()).isEqualTo(RejectionReason.TRANSFER_ID_LIMIT));
+        assertThat(bank.transferOnce("tx-1", "ACC-000001", "ACC-000002", 10.0)).isFalse();
+        assertThat(bank.findAccount("ACC-000002").getBalance()).isEqualTo(20.0);
+        assertThat(metrics.snapshot().rejections(RejectionReason.TRANSFER_ID_LIMIT)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should accept transfer id again after its time-to-live")
+    void shouldForgetTransferIdAfterTimeToLive() throws InterruptedException {
+        Bank bank = new Bank(10, 1, 1, TimeUnit.MILLISECONDS);
+        bank.addAccount(new BankAccount("ACC-000001", "First", 100.0));
+        bank.addAccount(new BankAccount("ACC-000002", "Second", 0.0));
+        bank.transferOnce("tx-1", "ACC-000001", "ACC-000002", 10.0);
+        Thread.sleep(5);
+
+        assertThat(bank.transferOnce("tx-1", "ACC-000001", "ACC-000002", 10.0)).isTrue();
+        assertThat(bank.findAccount("ACC-000002").getBalance()).isEqualTo(20.0);
+    }
+
+    @Test
+    @DisplayName("Should reject invalid transfer id limits")
+    void shouldRejectInvalidTransferIdLimits() {
+        assertThatThrownBy(() -> new Bank(10, 0, 10, TimeUnit.MINUTES))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Number of remembered transfer ids must be greater than 0.");
+        assertThatThrownBy(() -> new Bank(10, 100, 0, TimeUnit.MINUTES))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Transfer id time-to-live must be positive.");
+        assertThatThrownBy(() -> new Bank(10, 100, 10, null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Time unit cannot be null.");
+    }
+
+    @Test
+    @Timeout(value = 5, unit = TimeUnit.SECONDS, threadMode = Timeout.ThreadMode.SEPARATE_THREAD)   //join() ignores interrupts
+    @DisplayName("Should repeat error of failed transfer to retries instead of blocking them")
+    void shouldRepeatErrorToRetries() {
+        BankAccount faulty = new BankAccount("ACC-777777", "Faulty", 100.0) {
+            @Override
+            TransactionStatus withdrawalStatus(long cents) {
+                throw new OutOfMemoryError("Injected failure");
+            }
+        };
+        bank.addAccount(faulty);
+        bank.addAccount(account1);
+
+        assertThatThrownBy(() -> bank.transferOnce("tx-1", "ACC-777777", "ACC-123456", 10.0))
+                .isInstanceOf(OutOfMemoryError.class);
+        assertThatThrownBy(() -> bank.transferOnce("tx-1", "ACC-777777", "ACC-123456", 10.0))
+                .isInstanceOf(OutOfMemoryError.class)
+                .hasMessage("Injected failure");
+        assertThat(faulty.getBalance()).isEqualTo(100.0);
+    }
+
+    @Test
+    @DisplayName("Should reject reuse of transfer id for different transfer")
+    void shouldRejectTransferIdReuse() {
+        bank.addAccount(account1);
+        bank.addAccount(account2);
+        bank.transferOnce("tx-1", "ACC-654321", "ACC-123456", 500.0);
+
+        assertThatThrownBy(() -> bank.transferOnce("tx-1", "ACC-654321", "ACC-123456", 600.0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("already used for another transfer");
+        assertThatThrownBy(() -> bank.transferOnce(" ", "ACC-654321", "ACC-123456", 600.0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Transfer id cannot be null or empty");
+    }
+
+    @Test
+    @DisplayName("Should return status of transfer by account number")
+    void shouldReturnStatusOfTransfer() {
+        bank.addAccount(account1);
+        bank.addAccount(account2);
+
+        assertThat(bank.tryTransfer("ACC-123456", "ACC-999999", 1.0)).isEqualTo(TransactionStatus.ACCOUNT_NOT_FOUND);
+        assertThat(bank.tryTransfer("ACC-123456", "ACC-654321", 1000.01)).isEqualTo(TransactionStatus.INSUFFICIENT_FUNDS);
+        assertThat(bank.tryTransfer("ACC-123456", "ACC-654321", 1000.0)).isEqualTo(TransactionStatus.COMPLETED);
+
+        assertThat(account1.getBalance()).isZero();
+        assertThat(account2.getBalance()).isEqualTo(3000.0);
+    }
+
+    @Test
+    @DisplayName("Should transfer between accounts by account number")
+    void shouldTransferByAccountNumber() {
+        bank.addAccount(account1);
+        bank.addAccount(account2);
+
+        bank.transfer("ACC-123456", "ACC-654321", 250.0);
+
+        assertThat(account1.getBalance()).isEqualTo(750.0);
+        assertThat(account2.getBalance()).isEqualTo(2250.0);
+    }
+
+    @Test
+    @DisplayName("Should reject transfer by unknown account number")
+    void shouldRejectTransferByUnknownAccountNumber() {
+        bank.addAccount(account1);
+
+        assertThatThrownBy(() -> bank.transfer("ACC-123456", "ACC-000000", 100.0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Account not found: ACC-000000");
+        assertThat(account1.getBalance()).isEqualTo(1000.0);
+    }
+
     @Test
     @DisplayName("Should calculate total bank balance")
     void shouldCalculateTotalBankBalance() {
@@ -219,6 +511,38 @@ class BankTest {
         assertThat(johnDoeAccounts).containsExactlyInAnyOrder(account1, johnDoeAccount);
     }
 
+    @Test
+    @DisplayName("Should return owner accounts in insertion order")
+    void shouldReturnOwnerAccountsInInsertionOrder() {
+        BankAccount account3 = new BankAccount("ACC-333333", "John Doe", 500.0);
+
+        bank.addAccount(account3);
+        bank.addAccount(account2);
+        bank.addAccount(account1);
+
+        assertThat(bank.getAccountsByOwner("John Doe")).containsExactly(account3, account1);
+    }
+
+    @Test
+    @DisplayName("Should not index rejected duplicate under owner")
+    void shouldNotIndexRejectedDuplicate() {
+        bank.addAccount(account1);
+        bank.addAccount(new BankAccount("ACC-123456", "John Doe", 10.0));
+
+        assertThat(bank.getAccountsByOwner("John Doe")).containsExactly(account1);
+    }
+
+    @Test
+    @DisplayName("Should return independent array copies for owner")
+    void shouldReturnIndependentArrayCopies() {
+        bank.addAccount(account1);
+
+        BankAccount[] first = bank.getAccountsByOwner("John Doe");
+        first[0] = null;
+
+        assertThat(bank.getAccountsByOwner("John Doe")).containsExactly(account1);
+    }
+
     @Test
     @DisplayName("Should process monthly interest for all savings accounts")
     void shouldProcessMonthlyInterestForAllSavings() {
@@ -397,6 +721,54 @@ class BankTest {
         assertThat(report).contains("Total bank balance: 3200.00");
     }
 
+    @Test
+    @DisplayName("Should stream same report to output stream and channel")
+    void shouldStreamSameReportToOutputStreamAndChannel() throws IOException {
+        bank.addAccount(account1);
+        bank.addAccount(savingsAccount1);
+        account1.deactivateAccount();
+        String expected = bank.generateAccountReport();
+
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        bank.writeAccountReport(stream);
+        ByteArrayOutputStream channelTarget = new ByteArrayOutputStream();
+        bank.writeAccountReport(Channels.newChannel(channelTarget));
+
+        assertThat(stream.toString(StandardCharsets.UTF_8)).isEqualTo(expected);
+        assertThat(channelTarget.toString(StandardCharsets.UTF_8)).isEqualTo(expected);
+        assertThat(expected)
+                .contains(account1.toString())
+                .contains(savingsAccount1.toString())
+                .contains("Active accounts: 1")
+                .contains("Total bank balance: 6000.00");
+    }
+
+    @Test
+    @DisplayName("Should stream report of many accounts across chunks")
+    void shouldStreamReportAcrossChunks() throws IOException {
+        Bank largeBank = new Bank(2000);
+        for (int i = 0; i < 2000; i++) {
+            largeBank.addAccount(new BankAccount(String.format("ACC-%06d", i), "Owner " + i, 1.5));
+        }
+
+        StringWriter out = new StringWriter();
+        largeBank.writeAccountReport(out);
+
+        assertThat(out.toString().lines().filter(line -> line.startsWith("BankAccount{"))).hasSize(2000);
+        assertThat(out.toString())
+                .contains("accountNumber='ACC-001999'")
+                .contains("Total accounts: 2000")
+                .endsWith("Total bank balance: 3000.00\n");
+    }
+
+    @Test
+    @DisplayName("Should reject null report output")
+    void shouldRejectNullReportOutput() {
+        assertThatThrownBy(() -> bank.writeAccountReport((Writer) null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Report output cannot be null");
+    }
+
     @Test
     @DisplayName("Should handle large number of accounts")
     void shouldHandleLargeNumberOfAccounts() {
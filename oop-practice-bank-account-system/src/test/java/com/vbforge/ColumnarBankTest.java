@@ -0,0 +1,153 @@
+package com.vbforge;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Columnar Bank Tests")
+class ColumnarBankTest {
+
+    private ColumnarBank bank;
+
+    @BeforeEach
+    void setUp() {
+        bank = new ColumnarBank(10);
+        bank.addAccount(new BankAccount("ACC-123456", "John Doe", 1000.0));
+        bank.addAccount(new BankAccount("ACC-654321", "Jane Doe", 2000.0));
+        bank.addAccount(new SavingsAccount("ACC-111111", "Bob Smith", 5000.0, 5.0, 500));
+    }
+
+    @Test
+    @DisplayName("Should reject duplicates and respect capacity")
+    void shouldRejectDuplicatesAndRespectCapacity() {
+        ColumnarBank small = new ColumnarBank(1);
+
+        assertThat(small.addAccount(new BankAccount("ACC-000001", "A", 1.0))).isTrue();
+        assertThat(small.addAccount(new BankAccount("ACC-000001", "B", 1.0))).isFalse();
+        assertThat(small.addAccount(new BankAccount("ACC-000002", "C", 1.0))).isFalse();
+        assertThat(bank.addAccount(new BankAccount("ACC-123456", "Other", 1.0))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should calculate aggregates like object-array bank")
+    void shouldCalculateAggregates() {
+        bank.deactivateAccount("ACC-654321");
+
+        assertThat(bank.getTotalBankBalance()).isEqualTo(8000.0);
+        assertThat(bank.getActiveAccountsCount()).isEqualTo(2);
+        assertThat(bank.size()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should apply the same interest as SavingsAccount")
+    void shouldApplySameInterestAsSavingsAccount() {
+        SavingsAccount reference = new SavingsAccount("ACC-111111", "Bob Smith", 5000.0, 5.0, 500);
+
+        for (int month = 0; month < 12; month++) {
+            bank.processMonthlyInterest();
+            reference.applyInterest();
+        }
+
+        assertThat(bank.getBalance("ACC-111111")).isEqualTo(reference.getBalance());
+        assertThat(bank.getBalance("ACC-123456")).isEqualTo(1000.0);
+    }
+
+    @Test
+    @DisplayName("Should leave all balances unchanged when interest overflows")
+    void shouldLeaveBalancesUnchangedWhenInterestOverflows() {
+        bank.addAccount(new SavingsAccount("ACC-222222", "Rich Owner", 1e13, 5.0, 0));
+
+        assertThatThrownBy(() -> bank.processMonthlyInterest())
+                .isInstanceOf(ArithmeticException.class);
+        assertThat(bank.getBalance("ACC-111111")).isEqualTo(5000.0);
+        assertThat(bank.getBalance("ACC-222222")).isEqualTo(1e13);
+    }
+
+    @Test
+    @DisplayName("Should apply interest when only combined column bounds are near the limit")
+    void shouldApplyInterestWhenOnlyBoundsAreNearLimit() {
+        bank.addAccount(new BankAccount("ACC-222222", "Rich Owner", 1e13));
+        SavingsAccount reference = new SavingsAccount("ACC-111111", "Bob Smith", 5000.0, 5.0, 500);
+
+        bank.processMonthlyInterest();
+        bank.processMonthlyInterest();
+        reference.applyInterest();
+        reference.applyInterest();
+
+        assertThat(bank.getBalance("ACC-111111")).isEqualTo(reference.getBalance());
+        assertThat(bank.getBalance("ACC-222222")).isEqualTo(1e13);
+    }
+
+    @Test
+    @DisplayName("Should deposit, withdraw and transfer by account number")
+    void shouldDepositWithdrawAndTransfer() {
+        bank.deposit("ACC-123456", 500.0);
+        bank.withdraw("ACC-654321", 250.5);
+        bank.transfer("ACC-111111", "ACC-123456", 1000.0);
+
+        assertThat(bank.getBalance("ACC-123456")).isEqualTo(2500.0);
+        assertThat(bank.getBalance("ACC-654321")).isEqualTo(1749.5);
+        assertThat(bank.getBalance("ACC-111111")).isEqualTo(4000.0);
+    }
+
+    @Test
+    @DisplayName("Should enforce withdrawal rules of both account kinds")
+    void shouldEnforceWithdrawalRules() {
+        assertThatThrownBy(() -> bank.withdraw("ACC-123456", 1000.01))
+                .isInstanceOfSatisfying(TransactionRejectedException.class,
+                        e -> assertThat(e.getReason()).isEqualTo(RejectionReason.INSUFFICIENT_FUNDS))
+                .hasMessageContaining("Amount cannot be greater than balance");
+        assertThatThrownBy(() -> bank.withdraw("ACC-111111", 4500.01))
+                .isInstanceOfSatisfying(TransactionRejectedException.class,
+                        e -> assertThat(e.getReason()).isEqualTo(RejectionReason.MINIMUM_BALANCE))
+                .hasMessageContaining("Withdrawal would violate minimum balance");
+        assertThatThrownBy(() -> bank.transfer("ACC-123456", "ACC-654321", 1000.01))
+                .isInstanceOfSatisfying(TransactionRejectedException.class,
+                        e -> assertThat(e.getReason()).isEqualTo(RejectionReason.INSUFFICIENT_FUNDS))
+                .hasMessageContaining("Insufficient funds");
+        assertThatThrownBy(() -> bank.transfer("ACC-123456", "ACC-123456", 1.0))
+                .isInstanceOfSatisfying(TransactionRejectedException.class,
+                        e -> assertThat(e.getReason()).isEqualTo(RejectionReason.SAME_ACCOUNT))
+                .hasMessageContaining("Cannot transfer to the same account");
+        assertThatThrownBy(() -> bank.deposit("ACC-123456", 0.004))
+                .isInstanceOfSatisfying(TransactionRejectedException.class,
+                        e -> assertThat(e.getReason()).isEqualTo(RejectionReason.INVALID_AMOUNT));
+        assertThatThrownBy(() -> bank.deposit("ACC-999999", 1.0))
+                .isInstanceOfSatisfying(TransactionRejectedException.class,
+                        e -> assertThat(e.getReason()).isEqualTo(RejectionReason.ACCOUNT_NOT_FOUND))
+                .hasMessageContaining("Account not found");
+
+        assertThat(bank.getTotalBankBalance()).isEqualTo(8000.0);
+    }
+
+    @Test
+    @DisplayName("Should return detached account copy")
+    void shouldReturnDetachedAccountCopy() {
+        bank.deactivateAccount("ACC-111111");
+
+        BankAccount copy = bank.getAccount("ACC-111111");
+        copy.deposit(100.0);
+
+        assertThat(copy).isInstanceOf(SavingsAccount.class);
+        assertThat(copy.isActive()).isFalse();
+        assertThat(((SavingsAccount) copy).getInterestRate()).isEqualTo(5.0);
+        assertThat(((SavingsAccount) copy).getMinimumBalance()).isEqualTo(500);
+        assertThat(bank.getBalance("ACC-111111")).isEqualTo(5000.0);
+        assertThat(bank.getAccount("ACC-000000")).isNull();
+    }
+
+    @Test
+    @DisplayName("Should grow columns up to capacity")
+    void shouldGrowColumnsUpToCapacity() {
+        ColumnarBank large = new ColumnarBank(1000);
+        for (int i = 0; i < 1000; i++) {
+            assertThat(large.addAccount(new BankAccount(String.format("ACC-%06d", i), "Owner", 1.0))).isTrue();
+        }
+
+        assertThat(large.getTotalBankBalance()).isEqualTo(1000.0);
+        assertThat(large.containsAccount("ACC-000999")).isTrue();
+    }
+
+}
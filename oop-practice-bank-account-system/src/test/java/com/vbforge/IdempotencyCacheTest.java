@@ -0,0 +1,87 @@
+package com.vbforge;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Idempotency Cache Tests")
+class IdempotencyCacheTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    @Test
+    @DisplayName("Should return stored value for repeated key")
+    void shouldReturnStoredValue() {
+        IdempotencyCache<String> cache = new IdempotencyCache<>(10, 1, TimeUnit.MINUTES, now::get);
+
+        assertThat(cache.putIfAbsent("id-1", "first")).isNull();
+        assertThat(cache.putIfAbsent("id-1", "second")).isEqualTo("first");
+        assertThat(cache.get("id-1")).isEqualTo("first");
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should forget key after time-to-live")
+    void shouldExpireEntries() {
+        IdempotencyCache<String> cache = new IdempotencyCache<>(10, 1, TimeUnit.SECONDS, now::get);
+        cache.putIfAbsent("id-1", "first");
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+
+        assertThat(cache.get("id-1")).isNull();
+        assertThat(cache.putIfAbsent("id-1", "again")).isNull();
+        assertThat(cache.get("id-1")).isEqualTo("again");
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should evict expired entries while inserting")
+    void shouldEvictExpiredEntries() {
+        IdempotencyCache<Integer> cache = new IdempotencyCache<>(1000, 1, TimeUnit.SECONDS, now::get);
+        for (int i = 0; i < 100; i++) {
+            cache.putIfAbsent("old-" + i, i);
+        }
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(2));
+        cache.putIfAbsent("new", 0);
+
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should refuse new keys instead of evicting unexpired ones")
+    void shouldRefuseNewKeysWhenFull() {
+        IdempotencyCache<Integer> cache = new IdempotencyCache<>(100, 1, TimeUnit.HOURS, now::get);
+        for (int i = 0; i < 100; i++) {
+            cache.putIfAbsent("id-" + i, i);
+        }
+
+        assertThatThrownBy(() -> cache.putIfAbsent("id-100", 100))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("Cache is full of unexpired entries.");
+        assertThat(cache.putIfAbsent("id-0", -1)).isZero();
+        assertThat(cache.get("id-100")).isNull();
+        assertThat(cache.size()).isEqualTo(100);
+
+        now.addAndGet(TimeUnit.HOURS.toNanos(1));
+
+        assertThat(cache.putIfAbsent("id-100", 100)).isNull();
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should reject invalid limits")
+    void shouldRejectInvalidLimits() {
+        assertThatThrownBy(() -> new IdempotencyCache<String>(0, 1, TimeUnit.SECONDS))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Cache size must be greater than 0");
+        assertThatThrownBy(() -> new IdempotencyCache<String>(1, 0, TimeUnit.SECONDS))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Cache time-to-live must be positive");
+    }
+
+}
@@ -0,0 +1,163 @@
+package com.vbforge;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Interest Accrual Engine Tests")
+class InterestAccrualEngineTest {
+
+    private ColumnarBank bank;
+
+    @BeforeEach
+    void setUp() {
+        bank = new ColumnarBank(10);
+        bank.addAccount(new SavingsAccount("ACC-111111", "Bob Smith", 36500.0, 10.0, 0));
+        bank.addAccount(new BankAccount("ACC-123456", "John Doe", 36500.0));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, -1, 32})
+    @DisplayName("Should reject posting interval outside 1..31 days")
+    void shouldRejectInvalidPostingInterval(int days) {
+        assertThatThrownBy(() -> new InterestAccrualEngine(bank, days))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Posting interval must be between 1 and 31 days");
+    }
+
+    @Test
+    @DisplayName("Should accrue daily and post on posting day only")
+    void shouldPostOnPostingDay() {
+        InterestAccrualEngine engine = new InterestAccrualEngine(bank, 30);
+
+        for (int day = 1; day < 30; day++) {
+            assertThat(engine.accrueDay()).isZero();
+        }
+
+        assertThat(bank.getBalance("ACC-111111")).isEqualTo(36500.0);
+        assertThat(bank.getAccruedInterestCents("ACC-111111")).isEqualTo(29 * 10_00);
+        assertThat(engine.accrueDay()).isEqualTo(30 * 10_00);
+        assertThat(bank.getBalance("ACC-111111")).isEqualTo(36800.0);
+        assertThat(bank.getAccruedInterestCents("ACC-111111")).isZero();
+    }
+
+    @Test
+    @DisplayName("Should not accrue interest for checking accounts")
+    void shouldNotAccrueForCheckingAccounts() {
+        InterestAccrualEngine engine = new InterestAccrualEngine(bank, 1);
+
+        engine.accrueDay();
+
+        assertThat(bank.getBalance("ACC-123456")).isEqualTo(36500.0);
+        assertThat(bank.getAccruedInterestCents("ACC-123456")).isZero();
+    }
+
+    @Test
+    @DisplayName("Should compound daily when posting every day")
+    void shouldCompoundDaily() {
+        InterestAccrualEngine engine = new InterestAccrualEngine(bank, 1);
+
+        for (int day = 0; day < 365; day++) {
+            engine.accrueDay();
+        }
+
+        double expected = 36500.0 * Math.pow(1 + 0.10 / 365, 365);
+        assertThat(bank.getBalance("ACC-111111")).isCloseTo(expected, within(0.02));
+        assertThat(engine.getDaysAccrued()).isEqualTo(365);
+    }
+
+    @Test
+    @DisplayName("Should reject overflowing tick without changing accrued interest")
+    void shouldRejectOverflowingTick() {
+        InterestAccrualEngine engine = new InterestAccrualEngine(bank, 30);
+        engine.accrueDay();
+        bank.addAccount(new SavingsAccount("ACC-222222", "Rich Owner", 1e13, 10.0, 0));
+
+        assertThatThrownBy(engine::accrueDay).isInstanceOf(ArithmeticException.class);
+        assertThat(bank.getAccruedInterestCents("ACC-111111")).isEqualTo(10_00);
+        assertThat(bank.getAccruedInterestCents("ACC-222222")).isZero();
+        assertThat(engine.getDaysAccrued()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should accrue when only combined column bounds are near the limit")
+    void shouldAccrueWhenOnlyBoundsAreNearLimit() {
+        bank.addAccount(new BankAccount("ACC-222222", "Rich Owner", 1e13));
+        InterestAccrualEngine engine = new InterestAccrualEngine(bank, 30);
+
+        engine.accrueDay();
+        engine.accrueDay();
+
+        assertThat(bank.getAccruedInterestCents("ACC-111111")).isEqualTo(2 * 10_00);
+        assertThat(bank.getAccruedInterestCents("ACC-222222")).isZero();
+    }
+
+    @Test
+    @DisplayName("Should keep fractions of cent accrued instead of rounding them away")
+    void shouldCarryFractionsOfCent() {
+        ColumnarBank small = new ColumnarBank(1);
+        small.addAccount(new SavingsAccount("ACC-000001", "Saver", 1.0, 3.65, 0));
+        InterestAccrualEngine engine = new InterestAccrualEngine(small, 1);
+
+        for (int day = 0; day < 99; day++) {
+            engine.accrueDay();
+        }
+        assertThat(small.getBalance("ACC-000001")).isEqualTo(1.0);
+
+        engine.accrueDay();
+        assertThat(small.getBalance("ACC-000001")).isEqualTo(1.01);
+    }
+
+    @Test
+    @Timeout(value = 10, unit = TimeUnit.SECONDS)
+    @DisplayName("Should run daily tick on schedule")
+    void shouldRunOnSchedule() throws InterruptedException {
+        InterestAccrualEngine engine = new InterestAccrualEngine(bank, 1);
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        try {
+            ScheduledFuture<?> ticks = engine.schedule(scheduler, 5, TimeUnit.MILLISECONDS);
+            while (engine.getDaysAccrued() < 3) {
+                Thread.sleep(5);
+            }
+            ticks.cancel(false);
+        } finally {
+            scheduler.shutdownNow();
+        }
+
+        assertThat(bank.getBalance("ACC-111111")).isGreaterThan(36500.0);
+    }
+
+    @Test
+    @Timeout(value = 10, unit = TimeUnit.SECONDS)
+    @DisplayName("Should keep scheduled ticks running and report failed ones")
+    void shouldReportFailedScheduledTicks() throws InterruptedException {
+        bank.addAccount(new SavingsAccount("ACC-222222", "Rich Owner", 1e13, 10.0, 0));
+        InterestAccrualEngine engine = new InterestAccrualEngine(bank, 1);
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        try {
+            ScheduledFuture<?> ticks = engine.schedule(scheduler, 5, TimeUnit.MILLISECONDS);
+            while (engine.getFailedTicks() < 3) {
+                Thread.sleep(5);
+            }
+            assertThat(ticks.isDone()).isFalse();
+            ticks.cancel(false);
+        } finally {
+            scheduler.shutdownNow();
+        }
+
+        assertThat(engine.getLastFailure()).isInstanceOf(ArithmeticException.class);
+        assertThat(engine.getDaysAccrued()).isZero();
+        assertThat(bank.getBalance("ACC-111111")).isEqualTo(36500.0);
+    }
+
+}
@@ -0,0 +1,82 @@
+package com.vbforge;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Parallel Interest Run Tests")
+class InterestRunTest {
+
+    private static final int ACCOUNTS = 50_000;
+
+    @Test
+    @DisplayName("Should credit identical balances and total as serial run")
+    void shouldMatchSerialRun() {
+        Bank serial = createBank();
+        Bank parallel = createBank();
+        long serialBefore = serial.getTotalBankBalanceCents();
+
+        serial.processMonthlyInterest();
+        long credited = parallel.processMonthlyInterestParallelCents(new ForkJoinPool(4));
+
+        assertThat(credited).isEqualTo(serial.getTotalBankBalanceCents() - serialBefore);
+        assertThat(parallel.getTotalBankBalanceCents()).isEqualTo(serial.getTotalBankBalanceCents());
+        for (int i = 0; i < ACCOUNTS; i += 97) {
+            String number = String.format("ACC-%06d", i);
+            assertThat(parallel.findAccount(number).getBalanceCents())
+                    .isEqualTo(serial.findAccount(number).getBalanceCents());
+        }
+    }
+
+    @Test
+    @DisplayName("Should be deterministic across pool sizes and repeated runs")
+    void shouldBeDeterministicAcrossPoolSizes() {
+        Bank first = createBank();
+        Bank second = createBank();
+
+        long firstTotal = 0;
+        long secondTotal = 0;
+        for (int month = 0; month < 3; month++) {
+            firstTotal += first.processMonthlyInterestParallelCents(new ForkJoinPool(1));
+            secondTotal += second.processMonthlyInterestParallelCents(new ForkJoinPool(8));
+        }
+
+        assertThat(firstTotal).isEqualTo(secondTotal);
+        assertThat(first.getTotalBankBalanceCents()).isEqualTo(second.getTotalBankBalanceCents());
+    }
+
+    @Test
+    @DisplayName("Should return zero interest for bank without savings accounts")
+    void shouldReturnZeroWithoutSavingsAccounts() {
+        Bank bank = new Bank(2);
+        bank.addAccount(new BankAccount("ACC-000001", "Owner", 100.0));
+
+        assertThat(bank.processMonthlyInterestParallel()).isEqualTo(0.0);
+        assertThat(bank.getTotalBankBalance()).isEqualTo(100.0);
+    }
+
+    @Test
+    @DisplayName("Should reject null pool")
+    void shouldRejectNullPool() {
+        assertThatThrownBy(() -> new Bank(1).processMonthlyInterestParallelCents(null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Fork-join pool cannot be null");
+    }
+
+    private static Bank createBank() {
+        Bank bank = new Bank(ACCOUNTS);
+        for (int i = 0; i < ACCOUNTS; i++) {
+            String number = String.format("ACC-%06d", i);
+            if (i % 3 == 0) {
+                bank.addAccount(new BankAccount(number, "Owner " + i, i * 1.37));
+            } else {
+                bank.addAccount(new SavingsAccount(number, "Owner " + i, i * 1.37, 0.1 + (i % 149) / 10.0, 0));
+            }
+        }
+        return bank;
+    }
+
+}
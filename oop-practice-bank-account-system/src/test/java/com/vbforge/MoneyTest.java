@@ -0,0 +1,68 @@
+package com.vbforge;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Money Tests")
+class MoneyTest {
+
+    @ParameterizedTest
+    @CsvSource({
+            "0.0, 0",
+            "1.234, 123",
+            "1234.567, 123457",
+            "999.999, 100000",
+            "0.1, 10"
+    })
+    @DisplayName("Should round amount to nearest cent")
+    void shouldRoundAmountToCents(double amount, long expectedCents) {
+        assertThat(Money.toCents(amount)).isEqualTo(expectedCents);
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "0, '0.00'",
+            "5, '0.05'",
+            "100000, '1000.00'",
+            "123457, '1234.57'",
+            "-250, '-2.50'",
+            "9223372036854775807, '92233720368547758.07'"
+    })
+    @DisplayName("Should format cents like String.format(\"%.2f\")")
+    void shouldFormatCents(long cents, String expected) {
+        assertThat(Money.format(cents)).isEqualTo(expected);
+        assertThat(Money.appendFormatted(cents, new StringBuilder()).toString()).isEqualTo(expected);
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "25, 10, 2",     // 2.5 -> 2 (even)
+            "35, 10, 4",     // 3.5 -> 4 (even)
+            "26, 10, 3",
+            "24, 10, 2",
+            "-25, 10, -2",
+            "-26, 10, -3"
+    })
+    @DisplayName("Should divide with half-even rounding")
+    void shouldDivideHalfEven(long dividend, long divisor, long expected) {
+        assertThat(Money.divideHalfEven(dividend, divisor)).isEqualTo(expected);
+    }
+
+    @Test
+    @DisplayName("Should keep repeated small deposits exact")
+    void shouldKeepRepeatedSmallDepositsExact() {
+        BankAccount account = new BankAccount("ACC-123456", "John Doe");
+
+        for (int i = 0; i < 1000; i++) {
+            account.deposit(0.1);
+        }
+
+        assertThat(account.getBalanceCents()).isEqualTo(10_000);
+        assertThat(account.getBalance()).isEqualTo(100.0);
+    }
+
+}
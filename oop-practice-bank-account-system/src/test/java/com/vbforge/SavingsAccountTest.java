@@ -122,6 +122,39 @@ class SavingsAccountTest {
         assertThat(account.getBalance()).isCloseTo(1030.30, within(0.01));
     }
 
+    @Test
+    @DisplayName("Should round monthly interest half to even")
+    void shouldRoundMonthlyInterestHalfEven() {
+        // 1.50 at 4% / 12 = 0.5 cent -> 0 (even), 4.50 at 4% / 12 = 1.5 cents -> 2 (even)
+        SavingsAccount lowBalance = new SavingsAccount("ACC-123456", "John Doe", 1.50, 4.0, 0);
+        SavingsAccount highBalance = new SavingsAccount("ACC-654321", "Jane Doe", 4.50, 4.0, 0);
+
+        assertThat(lowBalance.calculateMonthlyInterestCents()).isZero();
+        assertThat(highBalance.calculateMonthlyInterestCents()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should apply zero interest to empty account without error")
+    void shouldApplyZeroInterestToEmptyAccount() {
+        SavingsAccount account = new SavingsAccount("ACC-123456", "John Doe", 0.0, 5.0, 0);
+
+        assertThatNoException().isThrownBy(account::applyInterest);
+        assertThat(account.getBalance()).isEqualTo(0.0);
+    }
+
+    @Test
+    @DisplayName("Should post exact cents after repeated interest")
+    void shouldPostExactCentsAfterRepeatedInterest() {
+        SavingsAccount account = new SavingsAccount("ACC-123456", "John Doe", 1000.0, 12.0, 0);
+
+        account.applyInterest(); // +10.00
+        account.applyInterest(); // +10.10
+        account.applyInterest(); // +10.201 -> 10.20
+
+        assertThat(account.getBalanceCents()).isEqualTo(103_030);
+        assertThat(account.getFormattedBalance()).isEqualTo("1030.30");
+    }
+
     @ParameterizedTest
     @CsvSource({
             "1000.0, 100, 500.0, 500.0",   // Withdraw within limits
@@ -305,4 +338,28 @@ class SavingsAccountTest {
                 .hasMessageContaining("Balance cannot be negative");
     }
 
-}
\ No newline at end of file
+    @Test
+    @DisplayName("Should restore savings account with exact interest rate")
+    void shouldRestoreSavingsAccount() {
+        SavingsAccount restored = SavingsAccount.restore(123456, "John Doe", 5000_00, true, 52_500, 100);
+        SavingsAccount created = new SavingsAccount("ACC-123456", "John Doe", 5000.0, 5.25, 100);
+
+        assertThat(restored.getInterestRate()).isEqualTo(5.25);
+        assertThat(restored.getMinimumBalance()).isEqualTo(100);
+        assertThat(restored.calculateMonthlyInterestCents()).isEqualTo(created.calculateMonthlyInterestCents());
+    }
+
+    @Test
+    @DisplayName("Should decline withdrawal below minimum balance with status")
+    void shouldDeclineWithdrawalBelowMinimumWithStatus() {
+        SavingsAccount account = new SavingsAccount("ACC-123456", "John Doe", 1000.0, 5.0, 500);
+        BankAccount target = new BankAccount("ACC-654321", "Jane Doe", 0.0);
+
+        assertThat(account.tryWithdraw(600.0)).isEqualTo(TransactionStatus.MINIMUM_BALANCE);
+        assertThat(account.tryTransfer(target, 600.0)).isEqualTo(TransactionStatus.MINIMUM_BALANCE);
+        assertThat(account.tryWithdraw(500.0)).isEqualTo(TransactionStatus.COMPLETED);
+        assertThat(account.getBalance()).isEqualTo(500.0);
+        assertThat(TransactionStatus.MINIMUM_BALANCE.getRejectionReason()).isEqualTo(RejectionReason.MINIMUM_BALANCE);
+    }
+
+}
@@ -0,0 +1,238 @@
+package com.vbforge;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Sharded Bank Tests")
+class ShardedBankTest {
+
+    private static final int ACCOUNTS = 64;
+
+    private ShardedBank bank;
+
+    @BeforeEach
+    void setUp() {
+        bank = new ShardedBank(4);
+        for (int i = 0; i < ACCOUNTS; i++) {
+            bank.addAccount(new BankAccount(String.format("ACC-%06d", i), "Owner " + (i % 8), 100.0));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        bank.close();
+    }
+
+    @Test
+    @DisplayName("Should reject non-positive shard count")
+    void shouldRejectNonPositiveShardCount() {
+        assertThatThrownBy(() -> new ShardedBank(0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Shard count must be greater than 0");
+    }
+
+    @Test
+    @DisplayName("Should spread accounts over all shards")
+    void shouldSpreadAccountsOverShards() {
+        int[] perShard = new int[bank.getShardCount()];
+        for (int i = 0; i < ACCOUNTS; i++) {
+            perShard[bank.shardOf(i)]++;
+        }
+
+        assertThat(perShard).doesNotContain(0);
+        assertThat(bank.size()).isEqualTo(ACCOUNTS);
+        assertThat(bank.addAccount(new BankAccount("ACC-000001", "Duplicate", 1.0))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should transfer between accounts on different shards")
+    void shouldTransferAcrossShards() {
+        String from = "ACC-000000";
+        String to = firstOnOtherShard(0);
+
+        bank.transfer(from, to, 40.0);
+
+        assertThat(bank.findAccount(from).getBalance()).isEqualTo(60.0);
+        assertThat(bank.findAccount(to).getBalance()).isEqualTo(140.0);
+        assertThat(bank.getTotalBankBalance()).isEqualTo(ACCOUNTS * 100.0);
+    }
+
+    @Test
+    @DisplayName("Should reject cross-shard transfer with insufficient funds without changing balances")
+    void shouldRejectCrossShardTransferWithInsufficientFunds() {
+        String to = firstOnOtherShard(0);
+
+        assertThatThrownBy(() -> bank.transfer("ACC-000000", to, 100.01))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Insufficient funds");
+
+        assertThat(bank.findAccount("ACC-000000").getBalance()).isEqualTo(100.0);
+        assertThat(bank.findAccount(to).getBalance()).isEqualTo(100.0);
+    }
+
+    @Test
+    @DisplayName("Should reject transfer to unknown account")
+    void shouldRejectTransferToUnknownAccount() {
+        assertThatThrownBy(() -> bank.transfer("ACC-000000", "ACC-999999", 1.0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Account not found: ACC-999999");
+
+        assertThat(bank.findAccount("ACC-000000").getBalance()).isEqualTo(100.0);
+    }
+
+    @Test
+    @DisplayName("Should merge owner accounts from all shards")
+    void shouldMergeOwnerAccounts() {
+        BankAccount[] accounts = bank.getAccountsByOwner("Owner 3");
+
+        assertThat(accounts).hasSize(ACCOUNTS / 8);
+        assertThat(accounts).extracting(BankAccount::getOwnerName).containsOnly("Owner 3");
+    }
+
+    @Test
+    @DisplayName("Should apply interest on every shard")
+    void shouldApplyInterestOnEveryShard() {
+        for (int i = 0; i < 4; i++) {
+            bank.addAccount(new SavingsAccount(String.format("ACC-1%05d", i), "Saver", 1200.0, 12.0, 0));
+        }
+
+        bank.processMonthlyInterest();
+
+        assertThat(bank.getAccountsByOwner("Saver")).extracting(BankAccount::getBalance).containsOnly(1212.0);
+    }
+
+    @Test
+    @Timeout(value = 60, unit = TimeUnit.SECONDS)
+    @DisplayName("Should keep total balance under concurrent cross-shard transfers")
+    void shouldKeepTotalUnderConcurrentTransfers() {
+        CompletableFuture<?>[] transfers = new CompletableFuture<?>[20_000];
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < transfers.length; i++) {
+            int from = random.nextInt(ACCOUNTS);
+            int to = (from + 1 + random.nextInt(ACCOUNTS - 1)) % ACCOUNTS;
+            transfers[i] = bank.transferAsync(String.format("ACC-%06d", from), String.format("ACC-%06d", to),
+                    1 + random.nextInt(50));
+        }
+
+        for (CompletableFuture<?> transfer : transfers) {
+            try {
+                transfer.join();
+            } catch (CompletionException rejected) {
+                assertThat(rejected).hasCauseInstanceOf(IllegalArgumentException.class);
+            }
+        }
+
+        assertThat(bank.getTotalBankBalanceCents()).isEqualTo(ACCOUNTS * 100_00L);
+    }
+
+    @Test
+    @Timeout(value = 60, unit = TimeUnit.SECONDS)
+    @DisplayName("Should read exact total while cross-shard transfers are running")
+    void shouldReadExactTotalDuringTransfers() {
+        CompletableFuture<?>[] transfers = new CompletableFuture<?>[20_000];
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < transfers.length; i++) {
+            int from = random.nextInt(ACCOUNTS);
+            int to = (from + 1 + random.nextInt(ACCOUNTS - 1)) % ACCOUNTS;
+            transfers[i] = bank.transferAsync(String.format("ACC-%06d", from), String.format("ACC-%06d", to),
+                    1 + random.nextInt(50));
+            if (i % 100 == 0) {
+                assertThat(bank.getTotalBankBalanceCents()).isEqualTo(ACCOUNTS * 100_00L);
+            }
+        }
+
+        CompletableFuture.allOf(transfers).exceptionally(rejected -> null).join();
+        assertThat(bank.getTotalBankBalanceCents()).isEqualTo(ACCOUNTS * 100_00L);
+    }
+
+    @Test
+    @DisplayName("Should hand out copies, so changes bypassing the facade do not reach the bank")
+    void shouldReturnCopiesOfAccounts() {
+        BankAccount added = new BankAccount("ACC-100000", "Outsider", 100.0);
+        bank.addAccount(added);
+
+        added.deposit(50.0);
+        bank.findAccount("ACC-100000").deposit(25.0);
+        bank.getAccountsByOwner("Outsider")[0].withdraw(10.0);
+
+        assertThat(bank.findAccount("ACC-100000").getBalance()).isEqualTo(100.0);
+        assertThat(bank.findAccount("ACC-100000")).isNotSameAs(bank.findAccount("ACC-100000"));
+        assertThat(bank.getTotalBankBalance()).isEqualTo(ACCOUNTS * 100.0 + 100.0);
+    }
+
+    @Test
+    @Timeout(value = 10, unit = TimeUnit.SECONDS)
+    @DisplayName("Should keep money of failed transfer in suspense when source is removed before refund")
+    void shouldKeepRefundInSuspenseWhenSourceIsRemoved() {
+        int toKey = 100_000;
+        while (bank.shardOf(toKey) == bank.shardOf(0)) {
+            toKey++;
+        }
+        String to = String.format("ACC-%06d", toKey);
+        bank.addAccount(BankAccount.restore(toKey, "Full", Long.MAX_VALUE, true));     //any credit overflows
+
+        CompletableFuture<Void> transfer;
+        BankAccount removed;
+        ReentrantLock targetStripe = AccountLocks.lockFor(toKey);
+        targetStripe.lock();                    //credit waits until source is removed
+        try {
+            transfer = bank.transferAsync("ACC-000000", to, 10.0);
+            removed = bank.removeAccount("ACC-000000");
+        } finally {
+            targetStripe.unlock();
+        }
+
+        assertThatThrownBy(transfer::join).hasCauseInstanceOf(ArithmeticException.class);
+        assertThat(removed.getBalance()).isEqualTo(90.0);
+        assertThat(bank.getSuspenseBalanceCents()).isEqualTo(10_00);
+        bank.removeAccount(to);
+        assertThat(bank.getTotalBankBalanceCents()).isEqualTo((ACCOUNTS - 1) * 100_00L + 10_00);
+
+        bank.releaseSuspense("ACC-000001", 10.0);
+        assertThat(bank.getSuspenseBalanceCents()).isZero();
+        assertThat(bank.findAccount("ACC-000001").getBalance()).isEqualTo(110.0);
+        assertThat(bank.getTotalBankBalanceCents()).isEqualTo((ACCOUNTS - 1) * 100_00L + 10_00);
+        assertThatThrownBy(() -> bank.releaseSuspense("ACC-000001", 0.01))
+                .isInstanceOfSatisfying(TransactionRejectedException.class,
+                        e -> assertThat(e.getReason()).isEqualTo(RejectionReason.INSUFFICIENT_FUNDS));
+    }
+
+    @Test
+    @DisplayName("Should give every lock stripe to exactly one shard")
+    void shouldGiveEveryStripeToOneShard() {
+        int[] shardOfStripe = new int[AccountLocks.STRIPES];
+        Arrays.fill(shardOfStripe, -1);
+        for (int key = 0; key <= AccountNumbers.MAX_KEY; key++) {
+            int stripe = AccountLocks.stripeOf(key);
+            if (shardOfStripe[stripe] < 0) {
+                shardOfStripe[stripe] = bank.shardOf(key);
+            }
+            assertThat(bank.shardOf(key)).isEqualTo(shardOfStripe[stripe]);
+        }
+        assertThatThrownBy(() -> new ShardedBank(AccountLocks.STRIPES + 1))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Shard count cannot exceed");
+    }
+
+    private String firstOnOtherShard(int key) {
+        for (int i = 0; i < ACCOUNTS; i++) {
+            if (bank.shardOf(i) != bank.shardOf(key)) {
+                return String.format("ACC-%06d", i);
+            }
+        }
+        throw new AssertionError("All accounts on one shard.");
+    }
+
+}
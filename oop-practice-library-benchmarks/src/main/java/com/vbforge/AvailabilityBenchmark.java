@@ -0,0 +1,62 @@
+package com.vbforge;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+//dashboard queries over availability bitmap: available count, available list and "available AND genre"
+//90% of books are borrowed, 10 genres
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AvailabilityBenchmark {
+
+    @Param({"10000", "1000000"})
+    private int books;
+
+    private Library library;
+
+    @Setup
+    public void setUp() {
+        library = new Library("Benchmark Library", books, 1);
+        Author author = new Author("George", "Orwell", "British", 1903);
+        for(int i = 0; i < books; i++) {
+            String isbn = String.format("978-0-%02d-%06d-%d", i / 1_000_000, i % 1_000_000, i % 10);
+            Book book = new Book(isbn, "Title", author, 2000, "Genre " + (i % 10));
+            library.addBook(book);
+            if(i % 10 != 0) {
+                book.borrowBook("M0000001");
+            }
+        }
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public int availableCount() {
+        return library.getAvailableBooksCount();
+    }
+
+    @Benchmark
+    public Book[] availableBooks() {
+        return library.getAvailableBooks();
+    }
+
+    @Benchmark
+    public Book[] availableBooksInGenre() {
+        return library.findAvailableBooksByGenre("genre 3");
+    }
+
+}
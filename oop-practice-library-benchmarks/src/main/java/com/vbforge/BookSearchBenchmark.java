@@ -0,0 +1,56 @@
+package com.vbforge;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+//findBooksByAuthor / findBooksByGenre against catalogue size, the result size stays the same (100 books)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BookSearchBenchmark {
+
+    private static final int MATCHING_BOOKS = 100;
+
+    @Param({"10000", "1000000"})
+    private int books;
+
+    private Library library;
+    private Author rareAuthor;
+
+    @Setup
+    public void setUp() {
+        library = new Library("Benchmark Library", books, 1);
+        Author commonAuthor = new Author("George", "Orwell", "British", 1903);
+        rareAuthor = new Author("Aldous", "Huxley", "British", 1904);
+        for(int i = 0; i < books; i++) {
+            boolean rare = i % (books / MATCHING_BOOKS) == 0;
+            String isbn = String.format("978-0-%02d-%06d-%d", i / 1_000_000, i % 1_000_000, i % 10);
+            library.addBook(new Book(isbn, "Title", rare ? rareAuthor : commonAuthor, 2000, rare ? "Poetry" : "Fiction"));
+        }
+    }
+
+    @Benchmark
+    public Book[] findBooksByAuthor() {
+        return library.findBooksByAuthor(rareAuthor);
+    }
+
+    @Benchmark
+    public Book[] findBooksByGenre() {
+        return library.findBooksByGenre("POETRY");
+    }
+
+}
@@ -0,0 +1,69 @@
+package com.vbforge;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+//checkout latency (borrowBook followed by returnBook, so library state does not drift) against member count
+//members and books are spread over the whole library, so lookups do not stay in a small hot range
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class CheckoutBenchmark {
+
+    private static final int BOOKS = 100_000;
+    private static final int CHECKOUTS = 4096;
+
+    @Param({"100000", "5000000"})
+    private int members;
+
+    private Library library;
+    private final String[] isbns = new String[CHECKOUTS];
+    private final String[] memberIds = new String[CHECKOUTS];
+    private int next;
+
+    @Setup
+    public void setUp() {
+        library = new Library("Benchmark Library", BOOKS, members);
+        Author author = new Author("George", "Orwell", "British", 1903);
+        for(int i = 0; i < BOOKS; i++) {
+            library.addBook(new Book(isbnOf(i), "Title", author, 2000, "Fiction"));
+        }
+        for(int i = 0; i < members; i++) {
+            library.addMember(new LibraryMember(memberIdOf(i), "Member", "member@library.com"));
+        }
+        for(int i = 0; i < CHECKOUTS; i++) {
+            isbns[i] = isbnOf((int) ((long) i * 7919 % BOOKS));
+            memberIds[i] = memberIdOf((int) ((long) i * 104_729 % members));
+        }
+    }
+
+    @Benchmark
+    public void checkout() {
+        next = (next + 1) & (CHECKOUTS - 1);
+        library.borrowBook(isbns[next], memberIds[next]);
+        library.returnBook(isbns[next]);
+    }
+
+    private static String isbnOf(int i) {
+        return String.format("978-0-%02d-%06d-%d", i / 1_000_000, i % 1_000_000, i % 10);
+    }
+
+    private static String memberIdOf(int i) {
+        return String.format("M%07d", i);
+    }
+
+}
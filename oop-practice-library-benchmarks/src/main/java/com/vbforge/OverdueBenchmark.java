@@ -0,0 +1,62 @@
+package com.vbforge;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+//overdue queries against catalogue size: half of books are borrowed, 100 of them more than 14 days ago
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OverdueBenchmark {
+
+    private static final int OVERDUE_BOOKS = 100;
+    private static final int LOAN_DAYS = 14;
+
+    @Param({"10000", "1000000"})
+    private int books;
+
+    private Library library;
+    private int reminders;
+
+    @Setup
+    public void setUp() {
+        library = new Library("Benchmark Library", books, 1);
+        Author author = new Author("George", "Orwell", "British", 1903);
+        Instant now = Instant.now();
+        for(int i = 0; i < books; i++) {
+            String isbn = String.format("978-0-%02d-%06d-%d", i / 1_000_000, i % 1_000_000, i % 10);
+            Book book = new Book(isbn, "Title", author, 2000, "Fiction");
+            library.addBook(book);
+            if(i % 2 == 0) {
+                long daysAgo = i % (books / OVERDUE_BOOKS) == 0 ? LOAN_DAYS + 10 : i % LOAN_DAYS;
+                book.borrowBook("M" + (i % 1000), now.minusMillis(daysAgo * Book.DAY_MILLIS));
+            }
+        }
+    }
+
+    @Benchmark
+    public Book[] getOverdueBooks() {
+        return library.getOverdueBooks(LOAN_DAYS);
+    }
+
+    @Benchmark
+    public int sendOverdueReminders() {
+        return library.sendOverdueReminders(LOAN_DAYS, reminder -> reminders++);
+    }
+
+}
@@ -0,0 +1,38 @@
+package com.vbforge;
+
+import java.util.BitSet;
+
+//bitmap of available books: bit N is set when book with id N (position in library books array) is on the shelf
+//one bit per book plus a running count, so count is O(1) and listing skips 64 borrowed books per word
+final class AvailabilityIndex {
+
+    private final BitSet available = new BitSet();
+    private int count;                                  //number of set bits
+
+    //set(int bookId, boolean isAvailable) - records availability of book
+    void set(int bookId, boolean isAvailable) {
+        if (available.get(bookId) != isAvailable) {
+            available.set(bookId, isAvailable);
+            count += isAvailable ? 1 : -1;
+        }
+    }
+
+    boolean contains(int bookId) {
+        return available.get(bookId);
+    }
+
+    int count() {
+        return count;
+    }
+
+    //collect(Book[] books) - available books in id order
+    Book[] collect(Book[] books) {
+        Book[] result = new Book[count];
+        int index = 0;
+        for (int id = available.nextSetBit(0); id >= 0; id = available.nextSetBit(id + 1)) {
+            result[index++] = books[id];
+        }
+        return result;
+    }
+
+}
@@ -0,0 +1,9 @@
+package com.vbforge;
+
+//callback for availability changes of a book, registered by the library holding the book (availability index)
+interface AvailabilityListener {
+
+    //availabilityChanged(boolean available) - book was borrowed (false) or returned (true)
+    void availabilityChanged(boolean available);
+
+}
@@ -1,11 +1,14 @@
 package com.vbforge;
 
+import java.time.Instant;
+import java.util.Arrays;
 import java.util.Objects;
 
 
 public class Book {
 
     private static final int CURRENT_YEAR = 2025;
+    static final long DAY_MILLIS = 24L * 60 * 60 * 1000;
 
     private final String isbn;                    //International Standard Book Number
     private final String title;                   //book title
@@ -14,6 +17,10 @@ public class Book {
     private final String genre;                   //book genre
     private boolean isAvailable;                  //availability status
     private String currentBorrower;               //ID of current borrower (null if available)
+    private long borrowedAtMillis;                //epoch millis of current borrow (meaningless if available)
+    private AvailabilityListener[] listeners = NO_LISTENERS;   //libraries indexing this book
+
+    private static final AvailabilityListener[] NO_LISTENERS = new AvailabilityListener[0];
 
     /*Constructor with all parameters except isAvailable and currentBorrower (set defaults)
     Validate ISBN format: "XXX-X-XX-XXXXXX-X" where X is digit
@@ -94,6 +101,15 @@ public class Book {
         return currentBorrower;
     }
 
+    //getBorrowedAt() - time of current borrow, null if book is available
+    public Instant getBorrowedAt() {
+        return isAvailable ? null : Instant.ofEpochMilli(borrowedAtMillis);
+    }
+
+    long getBorrowedAtMillis() {
+        return borrowedAtMillis;
+    }
+
 
     //borrowBook(String borrowerId) - marks book as borrowed, returns success status
     /*  1-Book must be available
@@ -101,6 +117,14 @@ public class Book {
         3-Book becomes unavailable
         4-Borrower is recorded*/
     public boolean borrowBook(String borrowerId){
+        return borrowBook(borrowerId, Instant.now());
+    }
+
+    //borrowBook(String borrowerId, Instant borrowedAt) - same as above, borrow time is recorded for overdue tracking
+    public boolean borrowBook(String borrowerId, Instant borrowedAt){
+        if(borrowedAt == null){
+            throw new IllegalArgumentException("Borrow time cannot be null");
+        }
         if(borrowerId == null || borrowerId.isBlank()){
             throw new IllegalArgumentException("Borrower id cannot be null or empty");
         }
@@ -109,6 +133,8 @@ public class Book {
         }
         this.isAvailable = false;
         this.currentBorrower = borrowerId;
+        this.borrowedAtMillis = borrowedAt.toEpochMilli();
+        notifyListeners(false);
         return true;
         /*if (!isAvailable) {
             throw new IllegalStateException("Book already borrowed");
@@ -128,9 +154,22 @@ public class Book {
         }
         this.isAvailable = true;
         this.currentBorrower = null;
+        notifyListeners(true);
         return true;
     }
 
+    //addAvailabilityListener(AvailabilityListener listener) - starts notifying listener on borrow/return
+    void addAvailabilityListener(AvailabilityListener listener) {
+        listeners = Arrays.copyOf(listeners, listeners.length + 1);
+        listeners[listeners.length - 1] = listener;
+    }
+
+    private void notifyListeners(boolean available) {
+        for (AvailabilityListener listener : listeners) {
+            listener.availabilityChanged(available);
+        }
+    }
+
     //isOverdue(int daysBorrowed, int maxDays) - checks if book is overdue
     public boolean isOverdue(int daysBorrowed, int maxDays){
         if(daysBorrowed < 0 || maxDays < 0){
@@ -139,6 +178,18 @@ public class Book {
         return daysBorrowed > maxDays;
     }
 
+    //isOverdue(Instant now, int maxDays) - checks if book borrowed more than maxDays full days before now,
+    //false if book is available
+    public boolean isOverdue(Instant now, int maxDays){
+        if(now == null){
+            throw new IllegalArgumentException("Current time cannot be null");
+        }
+        if(isAvailable){
+            return false;
+        }
+        return isOverdue((int) Math.max(0, (now.toEpochMilli() - borrowedAtMillis) / DAY_MILLIS), maxDays);
+    }
+
     //getBookAge() - returns how many years since publication
     public int getBookAge(){
         return CURRENT_YEAR - this.publicationYear;
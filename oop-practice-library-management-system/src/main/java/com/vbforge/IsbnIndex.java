@@ -0,0 +1,123 @@
+package com.vbforge;
+
+import java.util.Arrays;
+
+//open-addressing hash index: ISBN packed into a long -> position of book in library array
+//"XXX-X-XX-XXXXXX-X" has 13 digits, so the packed number is unique and fits a long; no string hashing on lookup
+final class IsbnIndex {
+
+    static final long INVALID_ISBN = -1;                    //pack() result for text not in ISBN format
+
+    private static final long EMPTY = -1;                   //marker for free slot
+    private static final int MIN_TABLE_SIZE = 16;
+    private static final int MAX_TABLE_SIZE = 1 << 30;
+    private static final long GOLDEN_RATIO = 0x9E3779B97F4A7C15L;  //multiplier for Fibonacci hashing
+
+    private long[] keys;                                    //packed ISBNs, EMPTY if slot is free
+    private int[] positions;                                //positions of books for keys in the same slot
+    private int mask;                                       //table size - 1 (table size is power of two)
+    private int shift;                                      //64 - log2(table size)
+    private int size;                                       //number of stored keys
+
+    IsbnIndex(int expectedSize) {
+        allocate(tableSizeFor(expectedSize));
+    }
+
+    int size() {
+        return size;
+    }
+
+    //pack(String isbn) - 13 ISBN digits as one number, or INVALID_ISBN if isbn is not "XXX-X-XX-XXXXXX-X"
+    static long pack(String isbn) {
+        if(isbn.length() != 17) {
+            return INVALID_ISBN;
+        }
+        long packed = 0;
+        for(int i = 0; i < 17; i++) {
+            char c = isbn.charAt(i);
+            if(i == 3 || i == 5 || i == 8 || i == 15) {
+                if(c != '-') {
+                    return INVALID_ISBN;
+                }
+            } else if(c >= '0' && c <= '9') {
+                packed = packed * 10 + (c - '0');
+            } else {
+                return INVALID_ISBN;
+            }
+        }
+        return packed;
+    }
+
+    //get(long key) - returns stored position or -1 if key is absent
+    int get(long key) {
+        int slot = slotOf(key);
+        while(true) {
+            long current = keys[slot];
+            if(current == key) {
+                return positions[slot];
+            }
+            if(current == EMPTY) {
+                return -1;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    //put(long key, int position) - inserts or replaces position for key
+    void put(long key, int position) {
+        if((size + 1) * 2 > keys.length) {                  //keep load factor <= 0.5 so probe chains stay short
+            rehash(keys.length * 2);
+        }
+        int slot = slotOf(key);
+        while(keys[slot] != EMPTY) {
+            if(keys[slot] == key) {
+                positions[slot] = position;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        positions[slot] = position;
+        size++;
+    }
+
+    //spread packed ISBNs (often sharing prefix digits) over the table (Fibonacci hashing)
+    private int slotOf(long key) {
+        return (int) ((key * GOLDEN_RATIO) >>> shift);
+    }
+
+    private void rehash(int newTableSize) {
+        long[] oldKeys = keys;
+        int[] oldPositions = positions;
+        allocate(newTableSize);
+        for(int i = 0; i < oldKeys.length; i++) {
+            if(oldKeys[i] != EMPTY) {
+                int slot = slotOf(oldKeys[i]);
+                while(keys[slot] != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                positions[slot] = oldPositions[i];
+                size++;
+            }
+        }
+    }
+
+    private void allocate(int tableSize) {
+        keys = new long[tableSize];
+        Arrays.fill(keys, EMPTY);
+        positions = new int[tableSize];
+        mask = tableSize - 1;
+        shift = Long.numberOfLeadingZeros(tableSize) + 1;
+        size = 0;
+    }
+
+    private static int tableSizeFor(int expectedSize) {
+        long needed = Math.max(MIN_TABLE_SIZE, (long) expectedSize * 2);
+        if(needed >= MAX_TABLE_SIZE) {
+            return MAX_TABLE_SIZE;
+        }
+        return Integer.highestOneBit((int) needed - 1) << 1;
+    }
+
+}
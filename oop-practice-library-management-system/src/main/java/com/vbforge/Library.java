@@ -1,15 +1,38 @@
 package com.vbforge;
 
+import java.time.Clock;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 public class Library {
 
+    private static final int INITIAL_INDEX_SIZE = 1024;     //indexes grow with content, not with capacity
+
     private final String libraryName;                   //name of the library
     private final Book[] books;                         //array of all library books
     private final LibraryMember[] members;              //array of all library members
+    private int bookCount;                              //books fill books array from the start, no gaps
+    private final IsbnIndex bookIndex;                  //packed ISBN -> position in books array
+    private final PostingIndex<Author> booksByAuthor;   //author -> positions of author's books
+    private final PostingIndex<String> booksByGenre;    //case-folded genre -> positions of books in genre
+    private final AvailabilityIndex availableBooks;     //bitmap of positions of available books
+    private final OverdueEngine overdueLoans;           //current loans ordered by borrow time
+    private final Clock clock;                          //borrow times and overdue checks
+    private int memberCount;                            //members fill members array from the start, no gaps
+    private final Map<String, LibraryMember> memberIndex;   //member id -> member
 
     //Constructor with libraryName and capacities for books and members arrays
     public Library(String libraryName, int booksCapacity, int membersCapacity) {
+        this(libraryName, booksCapacity, membersCapacity, Clock.systemUTC());
+    }
+
+    //Constructor with clock used for borrow times and overdue checks
+    public Library(String libraryName, int booksCapacity, int membersCapacity, Clock clock) {
 
         if (libraryName == null || libraryName.isBlank() || libraryName.length() < 3) {
             throw new IllegalArgumentException("libraryName must be at least 3 characters");
@@ -17,10 +40,20 @@ public class Library {
         if (booksCapacity <= 0 || membersCapacity <= 0) {
             throw new IllegalArgumentException("capacities must be positive");
         }
+        if (clock == null) {
+            throw new IllegalArgumentException("clock cannot be null");
+        }
 
         this.libraryName = libraryName;
         this.books = new Book[booksCapacity];
         this.members = new LibraryMember[membersCapacity];
+        this.bookIndex = new IsbnIndex(Math.min(booksCapacity, INITIAL_INDEX_SIZE));
+        this.memberIndex = new HashMap<>();
+        this.booksByAuthor = new PostingIndex<>();
+        this.booksByGenre = new PostingIndex<>();
+        this.availableBooks = new AvailabilityIndex();
+        this.overdueLoans = new OverdueEngine();
+        this.clock = clock;
     }
 
     /**core methods:*/
@@ -30,18 +63,28 @@ public class Library {
             throw new IllegalArgumentException("book cannot be null");
         }
 
-        if (findBook(book.getIsbn()) != null) {
+        //O(1) duplicate check through ISBN index
+        long key = IsbnIndex.pack(book.getIsbn());
+        if (bookIndex.get(key) >= 0) {
 //            return; // ignore duplicates
             throw new IllegalStateException("Book with ISBN already exists");
         }
 
-        for (int i = 0; i < books.length; i++) {
-            if (books[i] == null) {
-                books[i] = book;
-                return;
-            }
-        }
-        throw new IllegalStateException("Library book capacity exceeded");
+        if (bookCount == books.length) {
+            throw new IllegalStateException("Library book capacity exceeded");
+        }
+        books[bookCount] = book;
+        bookIndex.put(key, bookCount);
+        booksByAuthor.add(book.getAuthor(), bookCount);
+        booksByGenre.add(PostingIndex.foldCase(book.getGenre()), bookCount);
+        int bookId = bookCount;
+        availableBooks.set(bookId, book.isAvailable());
+        overdueLoans.loanChanged(bookId, book);
+        book.addAvailabilityListener(available -> {         //indexes kept current by borrow/return
+            availableBooks.set(bookId, available);
+            overdueLoans.loanChanged(bookId, book);
+        });
+        bookCount++;
     }
 
     //addMember(LibraryMember member) - adds member to library
@@ -50,18 +93,17 @@ public class Library {
             throw new IllegalArgumentException("member cannot be null");
         }
 
-        if (findMember(member.getMemberId()) != null) {
+        //O(1) duplicate check through member index
+        if (memberIndex.containsKey(member.getMemberId())) {
 //            return; // ignore duplicates
             throw new IllegalStateException("LibraryMember already exists");
         }
 
-        for (int i = 0; i < members.length; i++) {
-            if (members[i] == null) {
-                members[i] = member;
-                return;
-            }
+        if (memberCount == members.length) {
+            throw new IllegalStateException("Library member capacity exceeded");
         }
-        throw new IllegalStateException("Library member capacity exceeded");
+        members[memberCount++] = member;
+        memberIndex.put(member.getMemberId(), member);
     }
 
     //findBook(String isbn) - returns book or null
@@ -70,12 +112,13 @@ public class Library {
             throw new IllegalArgumentException("isbn cannot be null or blank");
         }
 
-        for (Book book : books) {
-            if (book != null && book.getIsbn().equals(isbn)) {
-                return book;
-            }
+        //O(1) through ISBN index, text not in ISBN format cannot belong to any book
+        long key = IsbnIndex.pack(isbn);
+        if (key == IsbnIndex.INVALID_ISBN) {
+            return null;
         }
-        return null;
+        int position = bookIndex.get(key);
+        return position >= 0 ? books[position] : null;
     }
 
     //findMember(String memberId) - returns member or null
@@ -84,12 +127,7 @@ public class Library {
             throw new IllegalArgumentException("memberId cannot be null or blank");
         }
 
-        for (LibraryMember member : members) {
-            if (member != null && member.getMemberId().equals(memberId)) {
-                return member;
-            }
-        }
-        return null;
+        return memberIndex.get(memberId);          //O(1) through member index
     }
 
     /**
@@ -131,7 +169,7 @@ public class Library {
             throw new IllegalStateException("Cannot borrow more books");
         }
 
-        boolean borrowed = book.borrowBook(memberId);
+        boolean borrowed = book.borrowBook(memberId, clock.instant());
 
         if (!borrowed) {
             throw new IllegalStateException("Book is already borrowed");
@@ -191,15 +229,7 @@ public class Library {
             throw new IllegalArgumentException("author cannot be null");
         }
 
-        Book[] result = new Book[books.length];
-        int index = 0;
-
-        for (Book book : books) {
-            if (book != null && book.getAuthor().equals(author)) {
-                result[index++] = book;
-            }
-        }
-        return Arrays.copyOf(result, index);
+        return booksByAuthor.collect(author, books);   //costs the size of the result only
     }
 
     //findBooksByGenre(String genre) - returns array of books in specific genre
@@ -208,61 +238,61 @@ public class Library {
             throw new IllegalArgumentException("genre cannot be null or blank");
         }
 
-        Book[] result = new Book[books.length];
-        int index = 0;
-
-        for (Book book : books) {
-            if (book != null && book.getGenre().equalsIgnoreCase(genre)) {
-                result[index++] = book;
-            }
-        }
-        return Arrays.copyOf(result, index);
+        //genres are indexed case-folded, so lookup matches equalsIgnoreCase
+        return booksByGenre.collect(PostingIndex.foldCase(genre), books);
     }
 
     //getAvailableBooks() - returns array of all available books
     public Book[] getAvailableBooks(){
-        Book[] result = new Book[books.length];
-        int index = 0;
+        return availableBooks.collect(books);           //walks availability bitmap, not the books
+    }
 
-        for (Book book : books) {
-            if (book != null && book.isAvailable()) {
-                result[index++] = book;
-            }
+    //findAvailableBooksByGenre(String genre) - returns array of available books in specific genre
+    public Book[] findAvailableBooksByGenre(String genre){
+        if (genre == null || genre.isBlank()) {
+            throw new IllegalArgumentException("genre cannot be null or blank");
         }
-        return Arrays.copyOf(result, index);
+
+        //genre posting list intersected with availability bitmap
+        return booksByGenre.collect(PostingIndex.foldCase(genre), books, availableBooks);
     }
 
     //getOverdueBooks(int maxDays) - returns array of overdue books
+    //book is overdue when borrowed more than maxDays full days ago (same rule as Book.isOverdue), oldest loan first
     public Book[] getOverdueBooks(int maxDays) {
-        if (maxDays < 0) {
-            throw new IllegalArgumentException("maxDays cannot be negative");
+        int[] bookIds = overdueLoans.borrowedBefore(overdueCutoff(maxDays));   //costs the overdue loans only
+        Book[] result = new Book[bookIds.length];
+        for (int i = 0; i < bookIds.length; i++) {
+            result[i] = books[bookIds[i]];
         }
-        throw new UnsupportedOperationException(
-                "Overdue calculation requires borrow duration tracking, which is not implemented"
-        );
+        return result;
+    }
+
+    //sendOverdueReminders(int maxDays, Consumer<OverdueReminder> sender) - nightly pass: one reminder per member
+    //with all member's overdue books, returns number of reminders sent
+    public int sendOverdueReminders(int maxDays, Consumer<OverdueReminder> sender) {
+        if (sender == null) {
+            throw new IllegalArgumentException("sender cannot be null");
+        }
+        Map<String, List<Book>> overdueByMember = new LinkedHashMap<>();
+        for (Book book : getOverdueBooks(maxDays)) {
+            overdueByMember.computeIfAbsent(book.getCurrentBorrower(), id -> new ArrayList<>()).add(book);
+        }
+        for (Map.Entry<String, List<Book>> entry : overdueByMember.entrySet()) {
+            sender.accept(new OverdueReminder(entry.getKey(), entry.getValue().toArray(new Book[0])));
+        }
+        return overdueByMember.size();
     }
 
     /**Statistics Methods:*/
     //getTotalBooks() - returns total number of books
     public int getTotalBooks() {
-        int count = 0;
-        for (Book book : books) {
-            if (book != null) {
-                count++;
-            }
-        }
-        return count;
+        return bookCount;
     }
 
     //getAvailableBooksCount() - returns number of available books
     public int getAvailableBooksCount() {
-        int count = 0;
-        for (Book book : books) {
-            if (book != null && book.isAvailable()) {
-                count++;
-            }
-        }
-        return count;
+        return availableBooks.count();                  //O(1) running count of availability bitmap
     }
 
     //getActiveMembersCount() - returns number of active members
@@ -375,4 +405,12 @@ public class Library {
         }
         member.setActive(true);
     }
+
+    //helper method: latest borrow time that is overdue now
+    private long overdueCutoff(int maxDays) {
+        if (maxDays < 0) {
+            throw new IllegalArgumentException("maxDays cannot be negative");
+        }
+        return clock.millis() - (maxDays + 1L) * Book.DAY_MILLIS;
+    }
 }
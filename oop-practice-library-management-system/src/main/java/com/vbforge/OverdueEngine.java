@@ -0,0 +1,81 @@
+package com.vbforge;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+//loans ordered by borrow time in a priority queue: for any loan period the oldest loan is due first,
+//so books overdue at a cutoff are exactly the head of the queue up to that cutoff
+//returned books are not searched for in the queue: a loan is stale when it is no longer the current loan
+//of its book and is dropped when it reaches the head (lazy deletion), so a query costs the overdue and stale
+//loans it meets, never the whole catalogue
+final class OverdueEngine {
+
+    private static final int INITIAL_BOOKS = 16;
+
+    private final PriorityQueue<Loan> loans =
+            new PriorityQueue<>(Comparator.comparingLong((Loan loan) -> loan.borrowedAtMillis));
+    private Loan[] currentLoans = new Loan[INITIAL_BOOKS];  //book id -> its current loan, null if book is available
+    private int activeLoans;                                //non-null entries of currentLoans
+
+    //loanChanged(int bookId, Book book) - records borrow (new current loan) or return (no current loan) of book
+    void loanChanged(int bookId, Book book) {
+        if (bookId >= currentLoans.length) {
+            currentLoans = Arrays.copyOf(currentLoans, Math.max(currentLoans.length * 2, bookId + 1));
+        }
+        if (currentLoans[bookId] != null) {
+            currentLoans[bookId] = null;
+            activeLoans--;
+        }
+        if (!book.isAvailable()) {
+            Loan loan = new Loan(bookId, book.getBorrowedAtMillis());
+            currentLoans[bookId] = loan;
+            activeLoans++;
+            loans.add(loan);
+        }
+        if (loans.size() > 2 * activeLoans + INITIAL_BOOKS) {
+            loans.removeIf(queued -> !isCurrent(queued));      //runs once stale loans outnumber current ones, amortized O(1)
+        }
+    }
+
+    //borrowedBefore(long cutoffMillis) - ids of books in current loans made at or before cutoffMillis, oldest first
+    int[] borrowedBefore(long cutoffMillis) {
+        List<Loan> due = new ArrayList<>();
+        while (!loans.isEmpty() && loans.peek().borrowedAtMillis <= cutoffMillis) {
+            Loan loan = loans.poll();
+            if (isCurrent(loan)) {
+                due.add(loan);
+            }
+        }
+        int[] bookIds = new int[due.size()];
+        for (int i = 0; i < bookIds.length; i++) {
+            bookIds[i] = due.get(i).bookId;
+            loans.add(due.get(i));              //still borrowed, stays queued until returned
+        }
+        return bookIds;
+    }
+
+    //size() - queued loans, current and not yet dropped stale ones
+    int size() {
+        return loans.size();
+    }
+
+    private boolean isCurrent(Loan loan) {
+        return currentLoans[loan.bookId] == loan;
+    }
+
+    //compared by identity, so a loan of a returned and borrowed again book is stale
+    private static final class Loan {
+
+        private final int bookId;
+        private final long borrowedAtMillis;
+
+        Loan(int bookId, long borrowedAtMillis) {
+            this.bookId = bookId;
+            this.borrowedAtMillis = borrowedAtMillis;
+        }
+    }
+
+}
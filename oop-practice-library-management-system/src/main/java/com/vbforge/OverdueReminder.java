@@ -0,0 +1,32 @@
+package com.vbforge;
+
+import java.util.Arrays;
+
+//reminder for one member listing all of member's overdue books, produced by Library.sendOverdueReminders
+public final class OverdueReminder {
+
+    private final String memberId;              //member to remind
+    private final Book[] overdueBooks;          //oldest loan first
+
+    OverdueReminder(String memberId, Book[] overdueBooks) {
+        this.memberId = memberId;
+        this.overdueBooks = overdueBooks;
+    }
+
+    public String getMemberId() {
+        return memberId;
+    }
+
+    public Book[] getOverdueBooks() {
+        return Arrays.copyOf(overdueBooks, overdueBooks.length);
+    }
+
+    @Override
+    public String toString() {
+        return "OverdueReminder{" +
+                "memberId='" + memberId + '\'' +
+                ", overdueBooks=" + overdueBooks.length +
+                '}';
+    }
+
+}
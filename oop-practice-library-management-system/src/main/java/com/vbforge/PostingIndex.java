@@ -0,0 +1,91 @@
+package com.vbforge;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+//inverted index: key (author, case-folded genre, ...) -> posting list of book ids (positions in library books array)
+//posting lists are growable int arrays in insertion order, 4 bytes per entry instead of an object reference + wrapper
+final class PostingIndex<K> {
+
+    private static final int[] NO_IDS = new int[0];
+    private static final int INITIAL_POSTINGS = 4;
+
+    private final Map<K, Postings> postings = new HashMap<>();
+
+    //add(K key, int bookId) - appends book id to posting list of key
+    void add(K key, int bookId) {
+        postings.computeIfAbsent(key, k -> new Postings()).add(bookId);
+    }
+
+    //get(K key) - book ids stored for key in insertion order, empty array if key is unknown
+    int[] get(K key) {
+        Postings list = postings.get(key);
+        return list == null ? NO_IDS : Arrays.copyOf(list.ids, list.size);
+    }
+
+    //count(K key) - length of posting list of key
+    int count(K key) {
+        Postings list = postings.get(key);
+        return list == null ? 0 : list.size;
+    }
+
+    //collect(K key, Book[] books) - books of posting list, result costs the size of the list only
+    Book[] collect(K key, Book[] books) {
+        Postings list = postings.get(key);
+        if (list == null) {
+            return new Book[0];
+        }
+        Book[] result = new Book[list.size];
+        for (int i = 0; i < list.size; i++) {
+            result[i] = books[list.ids[i]];
+        }
+        return result;
+    }
+
+    //collect(K key, Book[] books, AvailabilityIndex available) - books of posting list that are available,
+    //intersection probes one bit per posting, so it costs the size of the list, not the catalogue
+    Book[] collect(K key, Book[] books, AvailabilityIndex available) {
+        Postings list = postings.get(key);
+        if (list == null) {
+            return new Book[0];
+        }
+        Book[] result = new Book[list.size];
+        int index = 0;
+        for (int i = 0; i < list.size; i++) {
+            if (available.contains(list.ids[i])) {
+                result[index++] = books[list.ids[i]];
+            }
+        }
+        return Arrays.copyOf(result, index);
+    }
+
+    //foldCase(String text) - same result for texts that are equal ignoring case (per char, as String.equalsIgnoreCase)
+    static String foldCase(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.toLowerCase(Character.toUpperCase(c)) != c) {
+                char[] folded = text.toCharArray();
+                for (int j = i; j < folded.length; j++) {
+                    folded[j] = Character.toLowerCase(Character.toUpperCase(folded[j]));
+                }
+                return new String(folded);
+            }
+        }
+        return text;                                    //already folded, no copy
+    }
+
+    private static final class Postings {
+
+        private int[] ids = new int[INITIAL_POSTINGS];
+        private int size;
+
+        void add(int id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = id;
+        }
+    }
+
+}
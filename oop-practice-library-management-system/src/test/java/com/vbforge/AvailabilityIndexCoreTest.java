@@ -0,0 +1,49 @@
+package com.vbforge;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AvailabilityIndexCoreTest {
+
+    @Test
+    void set_changingAvailability_keepsCountInSync() {
+        // Arrange
+        AvailabilityIndex index = new AvailabilityIndex();
+
+        // Act
+        index.set(0, true);
+        index.set(1, true);
+        index.set(1, true);         //no change
+        index.set(200, true);
+        index.set(0, false);
+        index.set(5, false);        //no change
+
+        // Assert
+        assertEquals(2, index.count());
+        assertFalse(index.contains(0));
+        assertTrue(index.contains(1));
+        assertTrue(index.contains(200));
+    }
+
+    @Test
+    void collect_availableIds_returnsBooksInIdOrder() {
+        // Arrange
+        Author author = new Author("George", "Orwell", "British", 1903);
+        Book[] books = {
+                new Book("123-4-56-123456-7", "1984", author, 1949, "Dystopian"),
+                new Book("321-1-11-654321-9", "Animal Farm", author, 1945, "Political"),
+                new Book("111-1-11-111111-1", "Burmese Days", author, 1934, "Novel")
+        };
+        AvailabilityIndex index = new AvailabilityIndex();
+        index.set(2, true);
+        index.set(0, true);
+
+        // Act
+        Book[] result = index.collect(books);
+
+        // Assert
+        assertArrayEquals(new Book[]{books[0], books[2]}, result);
+    }
+
+}
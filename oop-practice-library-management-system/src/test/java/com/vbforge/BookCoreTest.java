@@ -3,6 +3,9 @@ package com.vbforge;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
+import java.time.Instant;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class BookCoreTest {
@@ -228,6 +231,40 @@ class BookCoreTest {
                 () -> book.isOverdue(-1, 10));
     }
 
+    @Test
+    @DisplayName("borrowBook should record borrow time, returnBook should clear it")
+    void borrowBook_withTime_recordsBorrowTime() {
+        // Arrange
+        Book book = createValidBook();
+        Instant borrowedAt = Instant.parse("2025-03-01T10:00:00Z");
+
+        // Act
+        book.borrowBook("MEMBER-1", borrowedAt);
+
+        // Assert
+        assertEquals(borrowedAt, book.getBorrowedAt());
+
+        // Act
+        book.returnBook();
+
+        // Assert
+        assertNull(book.getBorrowedAt());
+    }
+
+    @Test
+    @DisplayName("isOverdue should count full days since borrow time")
+    void isOverdue_withCurrentTime_countsFullDaysBorrowed() {
+        // Arrange
+        Book book = createValidBook();
+        Instant borrowedAt = Instant.parse("2025-03-01T10:00:00Z");
+        book.borrowBook("MEMBER-1", borrowedAt);
+
+        // Act & Assert
+        assertFalse(book.isOverdue(borrowedAt.plus(Duration.ofDays(15)).minusMillis(1), 14));
+        assertTrue(book.isOverdue(borrowedAt.plus(Duration.ofDays(15)), 14));
+        assertFalse(createValidBook().isOverdue(borrowedAt.plus(Duration.ofDays(100)), 14));
+    }
+
     @Test
     @DisplayName("getBookAge should return correct book age")
     void getBookAge_returnsCorrectAge() {
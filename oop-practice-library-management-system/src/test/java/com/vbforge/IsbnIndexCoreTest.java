@@ -0,0 +1,67 @@
+package com.vbforge;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IsbnIndexCoreTest {
+
+    // -------------------------------------------------
+    // ISBN packing
+    // -------------------------------------------------
+
+    @Test
+    void pack_validIsbn_returnsDigitsAsNumber() {
+        // Act & Assert
+        assertEquals(1234561234567L, IsbnIndex.pack("123-4-56-123456-7"));
+        assertEquals(0L, IsbnIndex.pack("000-0-00-000000-0"));
+        assertEquals(9999999999999L, IsbnIndex.pack("999-9-99-999999-9"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "123-4-56-123456", "123-4-56-123456-77", "1234-56-123456-7-", "123-4-56-12345a-7",
+            " 123-4-56-123456-7", "123 4-56-123456-7"})
+    void pack_invalidIsbn_returnsInvalid(String isbn) {
+        // Act & Assert
+        assertEquals(IsbnIndex.INVALID_ISBN, IsbnIndex.pack(isbn));
+    }
+
+    // -------------------------------------------------
+    // Index operations
+    // -------------------------------------------------
+
+    @Test
+    void get_storedAndMissingKeys_returnsPositionOrMinusOne() {
+        // Arrange
+        IsbnIndex index = new IsbnIndex(4);
+
+        // Act
+        for (int i = 0; i < 10_000; i++) {
+            index.put(9780000000000L + i * 13L, i);     //many keys sharing prefix, forces several rehashes
+        }
+
+        // Assert
+        assertEquals(10_000, index.size());
+        for (int i = 0; i < 10_000; i++) {
+            assertEquals(i, index.get(9780000000000L + i * 13L));
+        }
+        assertEquals(-1, index.get(9780000000001L));
+    }
+
+    @Test
+    void put_existingKey_replacesPosition() {
+        // Arrange
+        IsbnIndex index = new IsbnIndex(16);
+        index.put(42L, 1);
+
+        // Act
+        index.put(42L, 7);
+
+        // Assert
+        assertEquals(1, index.size());
+        assertEquals(7, index.get(42L));
+    }
+
+}
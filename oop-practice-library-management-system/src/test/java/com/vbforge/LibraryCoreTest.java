@@ -3,6 +3,14 @@ package com.vbforge;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class LibraryCoreTest {
@@ -71,6 +79,50 @@ class LibraryCoreTest {
         assertEquals("Alice", found.getName());
     }
 
+    @Test
+    void findBook_unknownOrMalformedIsbn_returnsNull() {
+        // Act & Assert
+        assertNull(library.findBook("999-9-99-999999-9"));
+        assertNull(library.findBook("not an isbn"));
+    }
+
+    @Test
+    void findMember_unknownId_returnsNull() {
+        // Act & Assert
+        assertNull(library.findMember("M999"));
+    }
+
+    @Test
+    void addBookAndMember_duplicatesAndFullLibrary_throwException() {
+        // Arrange
+        Library small = new Library("Small Library", 1, 1);
+        small.addBook(book1);
+        small.addMember(member1);
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> small.addBook(book1));
+        assertThrows(IllegalStateException.class, () -> small.addBook(book2));
+        assertThrows(IllegalStateException.class, () -> small.addMember(member1));
+        assertThrows(IllegalStateException.class, () -> small.addMember(member2));
+        assertEquals(1, small.getTotalBooks());
+    }
+
+    @Test
+    void findBookAndMember_manyEntries_allFound() {
+        // Arrange
+        Library large = new Library("Large Library", 5_000, 5_000);
+        for (int i = 0; i < 5_000; i++) {
+            large.addBook(new Book(String.format("978-0-00-%06d-%d", i, i % 10), "Title " + i, author, 2000, "Genre"));
+            large.addMember(new LibraryMember("M" + i, "Member " + i, "member" + i + "@test.com"));
+        }
+
+        // Assert
+        for (int i = 0; i < 5_000; i++) {
+            assertEquals("Title " + i, large.findBook(String.format("978-0-00-%06d-%d", i, i % 10)).getTitle());
+            assertEquals("Member " + i, large.findMember("M" + i).getName());
+        }
+    }
+
     // -------------------------------------------------
     // Borrow / Return workflow
     // -------------------------------------------------
@@ -122,6 +174,27 @@ class LibraryCoreTest {
         assertEquals("1984", result[0].getTitle());
     }
 
+    @Test
+    void findBooksByGenre_differentCase_returnsSameBooks() {
+        // Act
+        Book[] lower = library.findBooksByGenre("dystopian");
+        Book[] upper = library.findBooksByGenre("DYSTOPIAN");
+
+        // Assert
+        assertArrayEquals(new Book[]{book1}, lower);
+        assertArrayEquals(lower, upper);
+        assertEquals(0, library.findBooksByGenre("Romance").length);
+    }
+
+    @Test
+    void findBooksByAuthor_unknownAuthor_returnsEmptyArray() {
+        // Act
+        Book[] result = library.findBooksByAuthor(new Author("Aldous", "Huxley", "British", 1904));
+
+        // Assert
+        assertEquals(0, result.length);
+    }
+
     @Test
     void getAvailableBooks_returnsOnlyAvailableBooks() {
         // Arrange
@@ -139,6 +212,51 @@ class LibraryCoreTest {
     // Statistics
     // -------------------------------------------------
 
+    @Test
+    void findAvailableBooksByGenre_borrowedBookInGenre_isExcluded() {
+        // Arrange
+        Book book3 = new Book("111-1-11-111111-1", "Brave New World", author, 1932, "dystopian");
+        library.addBook(book3);
+        library.borrowBook("123-4-56-123456-7", "M001");
+
+        // Act
+        Book[] result = library.findAvailableBooksByGenre("DYSTOPIAN");
+
+        // Assert
+        assertArrayEquals(new Book[]{book3}, result);
+        assertEquals(0, library.findAvailableBooksByGenre("Romance").length);
+    }
+
+    @Test
+    void availability_bookBorrowedDirectly_isReflectedInLibrary() {
+        // Act
+        book2.borrowBook("M002");
+
+        // Assert
+        assertEquals(1, library.getAvailableBooksCount());
+        assertArrayEquals(new Book[]{book1}, library.getAvailableBooks());
+
+        // Act
+        book2.returnBook();
+
+        // Assert
+        assertEquals(2, library.getAvailableBooksCount());
+    }
+
+    @Test
+    void addBook_alreadyBorrowedBook_isNotCountedAsAvailable() {
+        // Arrange
+        Library other = new Library("Other Library", 5, 5);
+        book1.borrowBook("M001");
+
+        // Act
+        other.addBook(book1);
+
+        // Assert
+        assertEquals(0, other.getAvailableBooksCount());
+        assertEquals(1, library.getAvailableBooksCount());
+    }
+
     @Test
     void getTotalBooks_returnsCorrectCount() {
         // Act & Assert
@@ -281,20 +399,118 @@ class LibraryCoreTest {
 
 
     // -------------------------------------------------
-    // Overdue (explicitly unsupported)
+    // Overdue tracking
     // -------------------------------------------------
 
     @Test
-    void getOverdueBooks_throwsUnsupportedOperationException() {
+    void getOverdueBooks_booksBorrowedLongerThanMaxDays_returnsOldestFirst() {
+        // Arrange
+        MutableClock clock = new MutableClock(Instant.parse("2025-03-01T10:00:00Z"));
+        Library lib = new Library("Clocked Library", 10, 10, clock);
+        lib.addBook(book1);
+        lib.addBook(book2);
+        lib.addMember(member1);
+        lib.borrowBook(book2.getIsbn(), "M001");
+        clock.advanceDays(3);
+        lib.borrowBook(book1.getIsbn(), "M001");
+
+        // Act & Assert
+        clock.advanceDays(14);
+        assertArrayEquals(new Book[]{book2}, lib.getOverdueBooks(14));     //17 days vs 14 days
+        assertEquals(0, lib.getOverdueBooks(17).length);
+        assertArrayEquals(new Book[]{book2, book1}, lib.getOverdueBooks(13));
+        assertArrayEquals(new Book[]{book2}, lib.getOverdueBooks(14));     //query does not consume loans
+    }
+
+    @Test
+    void getOverdueBooks_returnedAndBorrowedAgain_usesNewBorrowTime() {
+        // Arrange
+        MutableClock clock = new MutableClock(Instant.parse("2025-03-01T10:00:00Z"));
+        Library lib = new Library("Clocked Library", 10, 10, clock);
+        lib.addBook(book1);
+        lib.addMember(member1);
+        lib.borrowBook(book1.getIsbn(), "M001");
+        clock.advanceDays(20);
+
+        // Act
+        lib.returnBook(book1.getIsbn());
+        lib.borrowBook(book1.getIsbn(), "M001");
+        clock.advanceDays(5);
+
+        // Assert
+        assertEquals(0, lib.getOverdueBooks(14).length);
+        assertArrayEquals(new Book[]{book1}, lib.getOverdueBooks(4));
+    }
+
+    @Test
+    void getOverdueBooks_negativeMaxDays_throwsException() {
         // Act & Assert
-        assertThrows(UnsupportedOperationException.class,
-                () -> library.getOverdueBooks(10));
+        assertThrows(IllegalArgumentException.class,
+                () -> library.getOverdueBooks(-1));
+    }
+
+    @Test
+    void sendOverdueReminders_overdueBooks_sendsOneReminderPerMember() {
+        // Arrange
+        MutableClock clock = new MutableClock(Instant.parse("2025-03-01T10:00:00Z"));
+        Library lib = new Library("Clocked Library", 10, 10, clock);
+        Book book3 = new Book("111-1-11-111111-1", "Burmese Days", author, 1934, "Novel");
+        lib.addBook(book1);
+        lib.addBook(book2);
+        lib.addBook(book3);
+        lib.addMember(member1);
+        lib.addMember(member2);
+        lib.borrowBook(book1.getIsbn(), "M001");
+        lib.borrowBook(book2.getIsbn(), "M002");
+        lib.borrowBook(book3.getIsbn(), "M001");
+        clock.advanceDays(30);
+        List<OverdueReminder> sent = new ArrayList<>();
+
+        // Act
+        int count = lib.sendOverdueReminders(14, sent::add);
+
+        // Assert
+        assertEquals(2, count);
+        assertEquals("M001", sent.get(0).getMemberId());
+        assertArrayEquals(new Book[]{book1, book3}, sent.get(0).getOverdueBooks());
+        assertEquals("M002", sent.get(1).getMemberId());
+        assertArrayEquals(new Book[]{book2}, sent.get(1).getOverdueBooks());
+        assertEquals(0, lib.sendOverdueReminders(30, sent::add));
     }
 
     // -------------------------------------------------
     // Helper
     // -------------------------------------------------
 
+    //clock moved by hand, so borrow times and overdue checks are deterministic
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advanceDays(int days) {
+            now = now.plus(Duration.ofDays(days));
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+
     private int countNotNull(Object[] array) {
         int count = 0;
         for (Object o : array) {
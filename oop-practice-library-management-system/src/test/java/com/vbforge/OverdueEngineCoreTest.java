@@ -0,0 +1,70 @@
+package com.vbforge;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OverdueEngineCoreTest {
+
+    private final Author author = new Author("George", "Orwell", "British", 1903);
+
+    private Book bookBorrowedAt(int id, long millis) {
+        Book book = new Book(String.format("978-0-00-%06d-0", id), "Title " + id, author, 2000, "Genre");
+        book.borrowBook("M001", Instant.ofEpochMilli(millis));
+        return book;
+    }
+
+    @Test
+    void borrowedBefore_loansOutOfOrder_returnsDueLoansOldestFirst() {
+        // Arrange
+        OverdueEngine engine = new OverdueEngine();
+        engine.loanChanged(0, bookBorrowedAt(0, 300));
+        engine.loanChanged(1, bookBorrowedAt(1, 100));
+        engine.loanChanged(2, bookBorrowedAt(2, 200));
+
+        // Act & Assert
+        assertArrayEquals(new int[]{1, 2}, engine.borrowedBefore(200));
+        assertArrayEquals(new int[]{1, 2, 0}, engine.borrowedBefore(1000));
+        assertEquals(0, engine.borrowedBefore(99).length);
+    }
+
+    @Test
+    void borrowedBefore_returnedBook_isDroppedFromQueue() {
+        // Arrange
+        OverdueEngine engine = new OverdueEngine();
+        Book book = bookBorrowedAt(0, 100);
+        engine.loanChanged(0, book);
+        engine.loanChanged(1, bookBorrowedAt(1, 150));
+
+        // Act
+        book.returnBook();
+        engine.loanChanged(0, book);
+
+        // Assert
+        assertArrayEquals(new int[]{1}, engine.borrowedBefore(1000));
+        assertEquals(1, engine.size());
+    }
+
+    @Test
+    void loanChanged_manyReturns_keepsQueueBounded() {
+        // Arrange
+        OverdueEngine engine = new OverdueEngine();
+        Book book = bookBorrowedAt(0, 0);
+
+        // Act
+        for (int i = 1; i <= 10_000; i++) {
+            engine.loanChanged(0, book);
+            book.returnBook();
+            engine.loanChanged(0, book);
+            book.borrowBook("M001", Instant.ofEpochMilli(i));
+        }
+        engine.loanChanged(0, book);
+
+        // Assert
+        assertTrue(engine.size() <= 20);
+        assertArrayEquals(new int[]{0}, engine.borrowedBefore(10_000));
+    }
+
+}
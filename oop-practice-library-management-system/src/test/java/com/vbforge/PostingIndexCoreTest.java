@@ -0,0 +1,73 @@
+package com.vbforge;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PostingIndexCoreTest {
+
+    // -------------------------------------------------
+    // Posting lists
+    // -------------------------------------------------
+
+    @Test
+    void add_manyIds_keepsInsertionOrderPerKey() {
+        // Arrange
+        PostingIndex<String> index = new PostingIndex<>();
+
+        // Act
+        for (int i = 0; i < 100; i++) {
+            index.add(i % 2 == 0 ? "even" : "odd", i);
+        }
+
+        // Assert
+        assertEquals(50, index.count("even"));
+        assertEquals(0, index.get("even")[0]);
+        assertEquals(98, index.get("even")[49]);
+        assertEquals(99, index.get("odd")[49]);
+        assertEquals(0, index.get("none").length);
+        assertEquals(0, index.count("none"));
+    }
+
+    @Test
+    void collect_storedIds_returnsBooksAtPositions() {
+        // Arrange
+        Author author = new Author("George", "Orwell", "British", 1903);
+        Book[] books = {
+                new Book("123-4-56-123456-7", "1984", author, 1949, "Dystopian"),
+                new Book("321-1-11-654321-9", "Animal Farm", author, 1945, "Political")
+        };
+        PostingIndex<Author> index = new PostingIndex<>();
+        index.add(author, 1);
+        index.add(author, 0);
+
+        // Act
+        Book[] result = index.collect(author, books);
+
+        // Assert
+        assertArrayEquals(new Book[]{books[1], books[0]}, result);
+        assertEquals(0, index.collect(new Author("Aldous", "Huxley", "British", 1904), books).length);
+    }
+
+    // -------------------------------------------------
+    // Case folding
+    // -------------------------------------------------
+
+    @Test
+    void foldCase_textsEqualIgnoringCase_foldToSameText() {
+        // Act & Assert
+        assertEquals(PostingIndex.foldCase("Science Fiction"), PostingIndex.foldCase("SCIENCE fiction"));
+        assertEquals(PostingIndex.foldCase("Ünïcödé"), PostingIndex.foldCase("üNÏCÖDÉ"));
+        assertNotEquals(PostingIndex.foldCase("Poetry"), PostingIndex.foldCase("Poetry "));
+    }
+
+    @Test
+    void foldCase_alreadyFolded_returnsSameInstance() {
+        // Arrange
+        String genre = "fantasy";
+
+        // Act & Assert
+        assertSame(genre, PostingIndex.foldCase(genre));
+    }
+
+}